@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Runs petclinic-load-test-v2.jmx against the application twice, once on platform
+# threads and once on virtual threads (needs Java 21+), and prints throughput and
+# tail latency of both runs.
+#
+# Usage: performance-tests/compare-thread-modes.sh [path to jar]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${1:-$(ls target/spring-petclinic-*.jar 2>/dev/null | grep -v plain | head -1)}
+if [ -z "$JAR" ]; then
+  mvn -B -q package -DskipTests
+  JAR=$(ls target/spring-petclinic-*.jar | grep -v plain | head -1)
+fi
+OUT=target/thread-modes
+mkdir -p "$OUT"
+
+run() {
+  local mode=$1 virtual=$2
+  java -jar "$JAR" --spring.threads.virtual.enabled="$virtual" > "$OUT/$mode.log" 2>&1 &
+  local pid=$!
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+  rm -f "$OUT/$mode.jtl"
+  jmeter -n -t performance-tests/petclinic-load-test-v2.jmx -l "$OUT/$mode.jtl" > /dev/null
+  kill "$pid"
+  wait "$pid" || true
+}
+
+summarize() {
+  local mode=$1 jtl="$OUT/$1.jtl"
+  # columns: timeStamp,elapsed,label,responseCode,responseMessage,threadName,dataType,success,...
+  tail -n +2 "$jtl" | cut -d, -f2 | sort -n > "$OUT/$mode.elapsed"
+  local count p50 p99
+  count=$(wc -l < "$OUT/$mode.elapsed")
+  p50=$(sed -n "$(( (count * 50 + 99) / 100 ))p" "$OUT/$mode.elapsed")
+  p99=$(sed -n "$(( (count * 99 + 99) / 100 ))p" "$OUT/$mode.elapsed")
+  awk -F, -v mode="$mode" -v p50="$p50" -v p99="$p99" 'NR > 1 {
+      n++; if ($8 != "true") errors++
+      if (first == "" || $1 < first) first = $1
+      if ($1 + $2 > last) last = $1 + $2
+    }
+    END { printf "%-9s samples=%d errors=%d throughput=%.1f/s p50=%dms p99=%dms\n",
+      mode, n, errors, n / ((last - first) / 1000), p50, p99 }' "$jtl"
+}
+
+run platform false
+run virtual true
+summarize platform
+summarize virtual
@@ -11,12 +11,17 @@ import jakarta.persistence.MappedSuperclass;
 /**
  * Simple JavaBean domain object with an id property. Used as a base class for objects
  * needing this property.
+ * <p>
+ * Ids come from one database sequence per entity (<code>owners_seq</code>,
+ * <code>pets_seq</code>, ...), reserved in blocks of 50 by Hibernate's pooled optimizer.
+ * Unlike identity columns this lets Hibernate assign ids before inserting, so inserts
+ * can be sent to the database as JDBC batches.
  */
 @MappedSuperclass
 public class BaseEntity implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
 	private Integer id;
 
 	public Integer getId() {
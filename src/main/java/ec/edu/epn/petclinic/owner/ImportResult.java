@@ -0,0 +1,45 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import run by {@link OwnerImporter}. Only the first
+ * {@value #MAX_REPORTED_ERRORS} rejections are described, so a badly broken input file
+ * cannot make the report itself grow without bounds.
+ */
+public class ImportResult {
+
+	static final int MAX_REPORTED_ERRORS = 100;
+
+	private long imported;
+
+	private long rejected;
+
+	private final List<String> errors = new ArrayList<>();
+
+	public long getImported() {
+		return this.imported;
+	}
+
+	public long getRejected() {
+		return this.rejected;
+	}
+
+	public List<String> getErrors() {
+		return Collections.unmodifiableList(this.errors);
+	}
+
+	void imported(int count) {
+		this.imported += count;
+	}
+
+	void rejected(int line, String reason) {
+		this.rejected++;
+		if (this.errors.size() < MAX_REPORTED_ERRORS) {
+			this.errors.add("line " + line + ": " + reason);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Negative cache of owner and pet ids that were looked up and do not exist, kept in the
+ * bounded <code>missingIds</code> cache.
+ * <p>
+ * Scrapers and stale bookmarks keep requesting the same unknown ids; once an id is known
+ * to be missing, the 404 is answered without querying the database again.
+ * {@link OwnerListener} forgets an owner and its pets as soon as they have been saved,
+ * so an id that is created later is found right away.
+ * </p>
+ * <p>
+ * The cache is local to each instance and only sees its own writes, so an id created
+ * through another instance would keep being answered with a 404. Entries therefore
+ * expire after a short time (<code>petclinic.cache.specs.missingIds</code>, 30 seconds
+ * by default), which still absorbs a scraper repeating the same ids.
+ * </p>
+ */
+@Component
+public class MissingIds {
+
+	private final Cache missing;
+
+	public MissingIds(CacheManager cacheManager) {
+		this.missing = cacheManager.getCache("missingIds");
+	}
+
+	public boolean isOwnerMissing(int ownerId) {
+		return this.missing.get(ownerKey(ownerId)) != null;
+	}
+
+	public void ownerMissing(int ownerId) {
+		this.missing.put(ownerKey(ownerId), Boolean.TRUE);
+	}
+
+	public boolean isPetMissing(int ownerId, int petId) {
+		return this.missing.get(petKey(ownerId, petId)) != null;
+	}
+
+	public void petMissing(int ownerId, int petId) {
+		this.missing.put(petKey(ownerId, petId), Boolean.TRUE);
+	}
+
+	/**
+	 * Forget the given owner and its pets, after they have been saved.
+	 * @param ownerId the id of the owner
+	 * @param petIds the ids of its pets
+	 */
+	public void saved(int ownerId, Iterable<Integer> petIds) {
+		this.missing.evict(ownerKey(ownerId));
+		for (Integer petId : petIds) {
+			this.missing.evict(petKey(ownerId, petId));
+		}
+	}
+
+	private static String ownerKey(int ownerId) {
+		return "owner:" + ownerId;
+	}
+
+	private static String petKey(int ownerId, int petId) {
+		return "pet:" + ownerId + ":" + petId;
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.core.style.ToStringCreator;
 import ec.edu.epn.petclinic.model.Person;
 import org.springframework.util.Assert;
@@ -11,6 +12,7 @@ import org.springframework.util.Assert;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
@@ -24,6 +26,7 @@ import jakarta.validation.constraints.Pattern;
  */
 @Entity
 @Table(name = "owners")
+@EntityListeners(OwnerListener.class)
 public class Owner extends Person {
 
 	@Column
@@ -44,6 +47,15 @@ public class Owner extends Person {
 	@OrderBy("name")
 	private final List<Pet> pets = new ArrayList<>();
 
+	/**
+	 * Raised by {@link OwnerRepository#incrementVersion(Integer)} whenever the owner, one
+	 * of its pets or one of their visits is written; never written through the entity.
+	 * New owners start at the column default, which generated schemas declare as well.
+	 */
+	@Column(insertable = false, updatable = false, nullable = false)
+	@ColumnDefault("0")
+	private int version;
+
 	public String getAddress() {
 		return this.address;
 	}
@@ -68,6 +80,10 @@ public class Owner extends Person {
 		this.telephone = telephone;
 	}
 
+	int getVersion() {
+		return this.version;
+	}
+
 	public List<Pet> getPets() {
 		return this.pets;
 	}
@@ -0,0 +1,43 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Search-as-you-type suggestions for the find owners form, answered from the
+ * {@link OwnerNameIndex} without querying the database when it is enabled and loaded,
+ * and from the database otherwise.
+ */
+@RestController
+class OwnerAutocompleteController {
+
+	private static final int MAX_LIMIT = 50;
+
+	private final OwnerNameIndex ownerNames;
+
+	private final OwnerRepository owners;
+
+	public OwnerAutocompleteController(OwnerNameIndex ownerNames, OwnerRepository owners) {
+		this.ownerNames = ownerNames;
+		this.owners = owners;
+	}
+
+	/**
+	 * Distinct last names starting with the given prefix, ignoring case.
+	 */
+	@GetMapping(value = "/owners/autocomplete", produces = MediaType.APPLICATION_JSON_VALUE)
+	public List<String> suggestLastNames(@RequestParam(name = "q", defaultValue = "") String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+		if (!this.ownerNames.isReady()) {
+			return this.owners.findLastNamesStartingWith(prefix, Limit.of(max));
+		}
+		return this.ownerNames.suggestLastNames(prefix, max);
+	}
+
+}
@@ -2,12 +2,12 @@ package ec.edu.epn.petclinic.owner;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -18,9 +18,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.servlet.ModelAndView;
 
-import ec.edu.epn.petclinic.system.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -32,11 +30,24 @@ class OwnerController {
 
 	private final OwnerRepository owners;
 
+	private final OwnerLoader ownerLoader;
+
+	private final OwnerDetailsLoader ownerDetails;
+
+	private final OwnerNameIndex ownerNames;
+
 	@Value("${petclinic.pagination.size:5}")
 	private int pageSize;
 
-	public OwnerController(OwnerRepository owners) {
+	@Value("${petclinic.pagination.count-totals:true}")
+	private boolean countTotals;
+
+	public OwnerController(OwnerRepository owners, OwnerLoader ownerLoader, OwnerDetailsLoader ownerDetails,
+			OwnerNameIndex ownerNames) {
 		this.owners = owners;
+		this.ownerLoader = ownerLoader;
+		this.ownerDetails = ownerDetails;
+		this.ownerNames = ownerNames;
 	}
 
 	@InitBinder
@@ -46,9 +57,7 @@ class OwnerController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable(name = "ownerId", required = false) Integer ownerId) {
-		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-						.orElseThrow(() -> new EntityNotFoundException("Owner", ownerId));
+		return ownerId == null ? new Owner() : this.ownerLoader.load(ownerId);
 	}
 
 	@GetMapping("/owners/new")
@@ -74,44 +83,91 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) String cursor, Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
 			lastName = ""; // empty string signifies broadest possible search
 		}
+		model.addAttribute("lastName", lastName);
 
-		// find owners by last name
-		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		// numbered pages are only used when explicitly requested
+		if (page != null) {
+			return processNumberedFind(page, lastName, result, model);
+		}
+
+		// find owners by last name, seeking past the cursor
+		List<OwnerSummary> ownersResults = findSeekForOwnersLastName(OwnerCursor.decode(cursor), lastName);
 		if (ownersResults.isEmpty()) {
 			// no owners found
 			result.rejectValue("lastName", "notFound", "not found");
 			return "owners/findOwners";
 		}
 
-		if (ownersResults.getTotalElements() == 1) {
+		boolean hasNext = ownersResults.size() > pageSize;
+		if (cursor == null && !hasNext && ownersResults.size() == 1) {
 			// 1 owner found
-			owner = ownersResults.iterator().next();
-			return "redirect:/owners/" + owner.getId();
+			return "redirect:/owners/" + ownersResults.get(0).getId();
 		}
 
 		// multiple owners found
-		return addPaginationModel(page, model, ownersResults);
+		List<OwnerSummary> listOwners = hasNext ? ownersResults.subList(0, pageSize) : ownersResults;
+		model.addAttribute("cursor", cursor);
+		if (hasNext) {
+			model.addAttribute("nextCursor", OwnerCursor.after(listOwners.get(listOwners.size() - 1)).encode());
+		}
+		model.addAttribute("listOwners", listOwners);
+		return "owners/ownersList";
 	}
 
-	private String addPaginationModel(int page, Model model, Page<Owner> paginated) {
-		List<Owner> listOwners = paginated.getContent();
+	private String processNumberedFind(int page, String lastName, BindingResult result, Model model) {
+		Slice<OwnerSummary> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		if (ownersResults.isEmpty()) {
+			// no owners found
+			result.rejectValue("lastName", "notFound", "not found");
+			return "owners/findOwners";
+		}
+
+		if (page == 1 && !ownersResults.hasNext() && ownersResults.getNumberOfElements() == 1) {
+			// 1 owner found
+			return "redirect:/owners/" + ownersResults.iterator().next().getId();
+		}
+
+		// multiple owners found
+		return addPaginationModel(page, lastName, model, ownersResults);
+	}
+
+	private String addPaginationModel(int page, String lastName, Model model, Slice<OwnerSummary> paginated) {
+		List<OwnerSummary> listOwners = paginated.getContent();
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		model.addAttribute("hasNext", paginated.hasNext());
+		if (countTotals) {
+			// cached, so the owners table is not counted again for every page
+			long totalItems = owners.countByLastNameStartingWith(lastName);
+			model.addAttribute("totalPages", (int) ((totalItems + pageSize - 1) / pageSize));
+			model.addAttribute("totalItems", totalItems);
+		}
 		model.addAttribute("listOwners", listOwners);
 		return "owners/ownersList";
 	}
 
-	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
+	private Slice<OwnerSummary> findPaginatedForOwnersLastName(int page, String lastname) {
 		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return owners.findByLastNameStartingWith(lastname, pageable);
+		return owners.searchByLastNameStartingWith(lastname, pageable);
+	}
+
+	/**
+	 * Fetches one more owner than fits on a page, so the caller can tell whether a next
+	 * page exists without counting. The database seek is authoritative; only if the
+	 * single-node {@link OwnerNameIndex} is enabled and loaded do the matching ids come
+	 * from memory, and only their summaries are read.
+	 */
+	private List<OwnerSummary> findSeekForOwnersLastName(OwnerCursor after, String lastname) {
+		if (!ownerNames.isReady()) {
+			return owners.seekByLastNameStartingWith(lastname, after.lastName(), after.id(), Limit.of(pageSize + 1));
+		}
+		return owners.findSummariesInOrder(ownerNames.findIds(lastname, after, pageSize + 1));
 	}
 
 	@GetMapping("/owners/{ownerId}/edit")
@@ -135,23 +191,9 @@ class OwnerController {
 
 		owner.setId(ownerId);
 		this.owners.save(owner);
+		this.ownerDetails.changed(ownerId);
 		redirectAttributes.addFlashAttribute("message", "Owner Values Updated");
 		return "redirect:/owners/{ownerId}";
 	}
 
-	/**
-	 * Custom handler for displaying an owner.
-	 * 
-	 * @param ownerId the ID of the owner to display
-	 * @return a ModelMap with the model attributes for the view
-	 */
-	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
-		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new EntityNotFoundException("Owner", ownerId));
-		mav.addObject(owner);
-		return mav;
-	}
-
 }
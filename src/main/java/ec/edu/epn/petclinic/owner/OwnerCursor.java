@@ -0,0 +1,55 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the owner search results, ordered by last name and id. Rendered as an
+ * opaque, URL-safe token so that links to the next page do not expose (or let clients
+ * tamper with) the keyset values directly.
+ *
+ * @param lastName last name of the last owner already shown
+ * @param id id of the last owner already shown
+ */
+record OwnerCursor(String lastName, int id) {
+
+	/**
+	 * Position before the first owner: every last name sorts after the empty string and
+	 * every id is positive.
+	 */
+	static final OwnerCursor FIRST = new OwnerCursor("", 0);
+
+	private static final char SEPARATOR = ':';
+
+	static OwnerCursor after(OwnerSummary owner) {
+		return new OwnerCursor(owner.getLastName(), owner.getId());
+	}
+
+	String encode() {
+		String raw = this.id + String.valueOf(SEPARATOR) + this.lastName;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a token produced by {@link #encode()}.
+	 * @param token the token, may be {@literal null}
+	 * @return the decoded cursor, or {@link #FIRST} if the token is missing or malformed
+	 */
+	static OwnerCursor decode(String token) {
+		if (token == null || token.isEmpty()) {
+			return FIRST;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			if (separator < 1) {
+				return FIRST;
+			}
+			return new OwnerCursor(raw.substring(separator + 1), Integer.parseInt(raw.substring(0, separator)));
+		}
+		catch (IllegalArgumentException ex) {
+			return FIRST;
+		}
+	}
+
+}
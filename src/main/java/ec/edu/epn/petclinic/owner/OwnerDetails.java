@@ -0,0 +1,11 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.Map;
+
+/**
+ * Everything the owner details page shows: the {@link Owner} with its pets and their
+ * types, and the most recent visits of each pet, keyed by pet id. Instances are shared
+ * through the cache of {@link OwnerDetailsLoader} and must not be modified.
+ */
+public record OwnerDetails(Owner owner, Map<Integer, RecentVisits> recentVisits) {
+}
@@ -0,0 +1,57 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.ModelAndView;
+
+import ec.edu.epn.petclinic.system.ConditionalGet;
+
+/**
+ * The owner details page. Kept apart from {@link OwnerController}, whose model
+ * attribute would load the owner aggregate for every request, so that a view only reads
+ * the owner's version before it is either answered with <code>304 Not Modified</code>
+ * or served from the {@link OwnerDetailsLoader} cache. The page also shows the names of
+ * the pet types, which are versioned apart from the owner, so the tag includes
+ * {@link PetTypeRepository#findPetTypesVersion() their version} too.
+ */
+@Controller
+class OwnerDetailsController {
+
+	private final OwnerDetailsLoader ownerDetails;
+
+	private final PetTypeRepository types;
+
+	public OwnerDetailsController(OwnerDetailsLoader ownerDetails, PetTypeRepository types) {
+		this.ownerDetails = ownerDetails;
+		this.types = types;
+	}
+
+	/**
+	 * Custom handler for displaying an owner, with the most recent visits of each pet.
+	 * 
+	 * @param ownerId the ID of the owner to display
+	 * @return a ModelMap with the model attributes for the view, or {@literal null} if
+	 * the client's copy is up to date
+	 */
+	@GetMapping("/owners/{ownerId}")
+	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId, ServletWebRequest request) {
+		int version = this.ownerDetails.version(ownerId);
+		if (ConditionalGet.notModified(request,
+				"owner-" + ownerId + "-" + version + "-" + Integer.toHexString(this.types.findPetTypesVersion()))) {
+			return null;
+		}
+		OwnerDetails details = this.ownerDetails.load(ownerId);
+		if (details.owner().getVersion() < version) {
+			// cached before the owner was changed on another instance
+			this.ownerDetails.evict(ownerId);
+			details = this.ownerDetails.load(ownerId);
+		}
+		ModelAndView mav = new ModelAndView("owners/ownerDetails");
+		mav.addObject(details.owner());
+		mav.addObject("recentVisits", details.recentVisits());
+		return mav;
+	}
+
+}
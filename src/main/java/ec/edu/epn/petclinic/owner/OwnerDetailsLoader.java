@@ -0,0 +1,100 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import ec.edu.epn.petclinic.system.EntityNotFoundException;
+
+/**
+ * Loads and caches the {@link OwnerDetails} of the owner details page in the
+ * <code>ownerDetails</code> cache, keyed by owner id.
+ * <p>
+ * Every controller that writes an owner, one of its pets or a visit calls
+ * {@link #changed(int)} once the write has been saved, which evicts the owner and raises
+ * its version. Views compare the version of the cached owner with the
+ * {@link #version(int) current one}, so details cached before a write, here or on
+ * another instance, are reloaded rather than served until they expire.
+ * </p>
+ */
+@Component
+public class OwnerDetailsLoader {
+
+	private final OwnerRepository owners;
+
+	private final VisitRepository visits;
+
+	private final MissingIds missingIds;
+
+	@Value("${petclinic.visits.recent:3}")
+	private int recentVisits;
+
+	public OwnerDetailsLoader(OwnerRepository owners, VisitRepository visits, MissingIds missingIds) {
+		this.owners = owners;
+		this.visits = visits;
+		this.missingIds = missingIds;
+	}
+
+	/**
+	 * Return the details of the owner with the given id, from the cache if present. Ids
+	 * already known to be {@link MissingIds missing} are rejected without a query.
+	 * @param ownerId the id of the owner
+	 * @return the details, never {@literal null}
+	 * @throws EntityNotFoundException if no owner exists with the given id
+	 */
+	@Cacheable(cacheNames = "ownerDetails", key = "#ownerId")
+	public OwnerDetails load(int ownerId) {
+		if (this.missingIds.isOwnerMissing(ownerId)) {
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		Owner owner = this.owners.findDetailsById(ownerId).orElse(null);
+		if (owner == null) {
+			this.missingIds.ownerMissing(ownerId);
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		List<Integer> petIds = owner.getPets().stream().map(Pet::getId).toList();
+		return new OwnerDetails(owner, this.visits.findRecentByPet(petIds, recentVisits));
+	}
+
+	/**
+	 * Return the current version of the owner with the given id, without loading it.
+	 * @param ownerId the id of the owner
+	 * @return the version of the owner
+	 * @throws EntityNotFoundException if no owner exists with the given id
+	 */
+	public int version(int ownerId) {
+		if (this.missingIds.isOwnerMissing(ownerId)) {
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		Integer version = this.owners.findVersionById(ownerId).orElse(null);
+		if (version == null) {
+			this.missingIds.ownerMissing(ownerId);
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		return version;
+	}
+
+	/**
+	 * Drop the cached details of the owner with the given id.
+	 * @param ownerId the id of the owner
+	 */
+	@CacheEvict(cacheNames = "ownerDetails", key = "#ownerId")
+	public void evict(int ownerId) {
+	}
+
+	/**
+	 * Record that the owner with the given id, one of its pets or one of their visits has
+	 * been written: drop its cached details and raise its version. The details are
+	 * dropped first, so a view that sees the new version cannot be served the old ones
+	 * from this cache.
+	 * @param ownerId the id of the owner
+	 */
+	@CacheEvict(cacheNames = "ownerDetails", key = "#ownerId", beforeInvocation = true)
+	public void changed(int ownerId) {
+		this.owners.incrementVersion(ownerId);
+	}
+
+}
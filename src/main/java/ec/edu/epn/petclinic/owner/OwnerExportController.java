@@ -0,0 +1,39 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Export of all owners with their pets and visits. The response is written while the
+ * rows are read from the database, so it starts immediately and never has to be held in
+ * memory.
+ */
+@Controller
+class OwnerExportController {
+
+	private final OwnerExporter exporter;
+
+	public OwnerExportController(OwnerExporter exporter) {
+		this.exporter = exporter;
+	}
+
+	@GetMapping("/owners/export.csv")
+	public void exportCsv(HttpServletResponse response) throws IOException {
+		response.setContentType("text/csv;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"owners.csv\"");
+		this.exporter.exportCsv(response.getWriter());
+	}
+
+	@GetMapping("/owners/export.ndjson")
+	public void exportNdjson(HttpServletResponse response) throws IOException {
+		response.setContentType("application/x-ndjson;charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"owners.ndjson\"");
+		this.exporter.exportNdjson(response.getWriter());
+	}
+
+}
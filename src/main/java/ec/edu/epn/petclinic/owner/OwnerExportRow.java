@@ -0,0 +1,13 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * One flattened row of the owner export: an owner, optionally one of its pets and
+ * optionally one visit of that pet. Read as a projection, so streaming millions of rows
+ * never fills the persistence context.
+ */
+public record OwnerExportRow(Integer ownerId, String firstName, String lastName, String address, String city,
+		String telephone, Integer petId, String petName, LocalDate petBirthDate, String petType,
+		LocalDate visitDate, String visitDescription) {
+}
@@ -0,0 +1,129 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.edu.epn.petclinic.owner.OwnerImporter.ImportedOwner;
+import ec.edu.epn.petclinic.owner.OwnerImporter.ImportedPet;
+import ec.edu.epn.petclinic.owner.OwnerImporter.ImportedVisit;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes all owners with their pets and visits as CSV or NDJSON, in the same formats
+ * {@link OwnerImporter} reads.
+ * <p>
+ * Rows are streamed from a database cursor
+ * ({@link OwnerRepository#streamExportRows()}) straight to the writer: CSV holds a single
+ * row in memory and NDJSON a single owner, regardless of the size of the tables. The
+ * throughput target is 50,000 rows per second against a local database, which keeps a
+ * full export of a million-row clinic within about half a minute.
+ * </p>
+ */
+@Component
+public class OwnerExporter {
+
+	private final OwnerRepository owners;
+
+	private final JsonMapper jsonMapper;
+
+	public OwnerExporter(OwnerRepository owners, JsonMapper jsonMapper) {
+		this.owners = owners;
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * Write one CSV line per visit (or per pet without visits, or per owner without
+	 * pets), preceded by a header line.
+	 * @param writer the target, not closed
+	 * @throws IOException if writing fails
+	 */
+	@Transactional(readOnly = true)
+	public void exportCsv(Writer writer) throws IOException {
+		writer.write(OwnerImporter.CSV_COLUMNS);
+		writer.write('\n');
+		try (Stream<OwnerExportRow> rows = this.owners.streamExportRows()) {
+			Iterator<OwnerExportRow> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				OwnerExportRow row = iterator.next();
+				writeCsvLine(writer, row.firstName(), row.lastName(), row.address(), row.city(), row.telephone(),
+						row.petName(), Objects.toString(row.petBirthDate(), null), row.petType(),
+						Objects.toString(row.visitDate(), null), row.visitDescription());
+			}
+		}
+	}
+
+	/**
+	 * Write one JSON document per owner and line, with nested pets and visits.
+	 * @param writer the target, not closed
+	 * @throws IOException if writing fails
+	 */
+	@Transactional(readOnly = true)
+	public void exportNdjson(Writer writer) throws IOException {
+		try (Stream<OwnerExportRow> rows = this.owners.streamExportRows()) {
+			Iterator<OwnerExportRow> iterator = rows.iterator();
+			OwnerExportRow first = null;
+			List<ImportedPet> pets = new ArrayList<>();
+			ImportedPet pet = null;
+			Integer petId = null;
+			while (iterator.hasNext()) {
+				OwnerExportRow row = iterator.next();
+				if (first == null || !first.ownerId().equals(row.ownerId())) {
+					if (first != null) {
+						writeJsonLine(writer, first, pets);
+					}
+					first = row;
+					pets = new ArrayList<>();
+					pet = null;
+					petId = null;
+				}
+				if (row.petId() != null && !row.petId().equals(petId)) {
+					petId = row.petId();
+					pet = new ImportedPet(row.petName(), row.petBirthDate(), row.petType(), new ArrayList<>());
+					pets.add(pet);
+				}
+				if (pet != null && (row.visitDate() != null || row.visitDescription() != null)) {
+					pet.visits().add(new ImportedVisit(row.visitDate(), row.visitDescription()));
+				}
+			}
+			if (first != null) {
+				writeJsonLine(writer, first, pets);
+			}
+		}
+	}
+
+	private void writeJsonLine(Writer writer, OwnerExportRow owner, List<ImportedPet> pets) throws IOException {
+		writer.write(this.jsonMapper.writeValueAsString(new ImportedOwner(owner.firstName(), owner.lastName(),
+				owner.address(), owner.city(), owner.telephone(), pets)));
+		writer.write('\n');
+	}
+
+	private static void writeCsvLine(Writer writer, String... fields) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			String field = fields[i];
+			if (field == null) {
+				continue;
+			}
+			if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0) {
+				writer.write('"');
+				writer.write(field.replace("\"", "\"\""));
+				writer.write('"');
+			}
+			else {
+				writer.write(field);
+			}
+		}
+		writer.write('\n');
+	}
+
+}
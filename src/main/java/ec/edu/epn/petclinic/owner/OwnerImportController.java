@@ -0,0 +1,36 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Bulk import of owners with their pets and visits. The request body is streamed
+ * straight into the {@link OwnerImporter}, so uploads of any size are never buffered in
+ * memory.
+ */
+@Controller
+class OwnerImportController {
+
+	private final OwnerImporter importer;
+
+	public OwnerImportController(OwnerImporter importer) {
+		this.importer = importer;
+	}
+
+	@PostMapping(path = "/owners/import", consumes = "application/x-ndjson")
+	public @ResponseBody ImportResult importNdjson(InputStream body) throws IOException {
+		return this.importer.importNdjson(new InputStreamReader(body, StandardCharsets.UTF_8));
+	}
+
+	@PostMapping(path = "/owners/import", consumes = "text/csv")
+	public @ResponseBody ImportResult importCsv(InputStream body) throws IOException {
+		return this.importer.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+	}
+
+}
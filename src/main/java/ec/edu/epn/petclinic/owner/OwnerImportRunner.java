@@ -0,0 +1,52 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports the file named by <code>petclinic.import.file</code> on startup. Files ending
+ * in <code>.csv</code> are read as CSV, anything else as NDJSON. To run the import from
+ * the command line without starting the web server, use for example:
+ *
+ * <pre>
+ * java -jar petclinic.jar --spring.main.web-application-type=none --petclinic.import.file=owners.ndjson
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty("petclinic.import.file")
+class OwnerImportRunner implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(OwnerImportRunner.class);
+
+	private final OwnerImporter importer;
+
+	@Value("${petclinic.import.file}")
+	private String file;
+
+	public OwnerImportRunner(OwnerImporter importer) {
+		this.importer = importer;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		Path path = Path.of(this.file);
+		logger.info("Importing owners from {}", path);
+		ImportResult result;
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			result = this.file.endsWith(".csv") ? this.importer.importCsv(reader) : this.importer.importNdjson(reader);
+		}
+		logger.info("Imported {} owners from {}, {} rejected", result.getImported(), path, result.getRejected());
+		result.getErrors().forEach(error -> logger.warn("Rejected {}", error));
+	}
+
+}
@@ -0,0 +1,396 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams owners, their pets and their visits from CSV or NDJSON input into the data
+ * store.
+ * <p>
+ * Rows are validated with the same rules as the web forms: Bean Validation for
+ * {@link Owner} and {@link Visit}, and {@link PetValidator} for {@link Pet}. Invalid
+ * owners are rejected as a whole and reported in the {@link ImportResult}; valid owners
+ * are written in batches, each in its own transaction, so only one batch is ever held in
+ * memory no matter how large the input is.
+ * </p>
+ * <p>
+ * NDJSON input has one owner per line, with nested pets and visits:
+ * </p>
+ * <pre>
+ * {"firstName":"George","lastName":"Franklin","address":"110 W. Liberty St.","city":"Madison",
+ *  "telephone":"6085551023","pets":[{"name":"Leo","birthDate":"2010-09-07","type":"cat",
+ *  "visits":[{"date":"2013-01-01","description":"rabies shot"}]}]}
+ * </pre>
+ * <p>
+ * CSV input has a header line naming the columns {@value #CSV_COLUMNS}. Consecutive rows
+ * with the same owner columns belong to one owner and rows with the same pet name to one
+ * pet; the pet and visit columns may be left empty.
+ * </p>
+ */
+@Component
+public class OwnerImporter {
+
+	static final String CSV_COLUMNS = "firstName,lastName,address,city,telephone,"
+			+ "petName,petBirthDate,petType,visitDate,visitDescription";
+
+	private static final Logger logger = LoggerFactory.getLogger(OwnerImporter.class);
+
+	private final OwnerRepository owners;
+
+	private final PetTypeRepository types;
+
+	private final PetValidator petValidator;
+
+	private final Validator validator;
+
+	private final JsonMapper jsonMapper;
+
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${petclinic.import.batch-size:500}")
+	private int batchSize;
+
+	public OwnerImporter(OwnerRepository owners, PetTypeRepository types, PetValidator petValidator,
+			Validator validator, JsonMapper jsonMapper, TransactionTemplate transactionTemplate) {
+		this.owners = owners;
+		this.types = types;
+		this.petValidator = petValidator;
+		this.validator = validator;
+		this.jsonMapper = jsonMapper;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * Import owners from NDJSON input, one owner per line.
+	 * @param input the input, read line by line and not closed
+	 * @return the outcome of the import
+	 * @throws IOException if reading the input fails
+	 */
+	public ImportResult importNdjson(Reader input) throws IOException {
+		Batch batch = new Batch();
+		BufferedReader reader = new BufferedReader(input);
+		String line;
+		int lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (!StringUtils.hasText(line)) {
+				continue;
+			}
+			try {
+				batch.add(lineNumber, this.jsonMapper.readValue(line, ImportedOwner.class));
+			}
+			catch (JacksonException ex) {
+				batch.result.rejected(lineNumber, "malformed JSON: " + ex.getOriginalMessage());
+			}
+		}
+		return batch.finish();
+	}
+
+	/**
+	 * Import owners from CSV input with a header line.
+	 * @param input the input, read line by line and not closed
+	 * @return the outcome of the import
+	 * @throws IOException if reading the input fails
+	 */
+	public ImportResult importCsv(Reader input) throws IOException {
+		Batch batch = new Batch();
+		BufferedReader reader = new BufferedReader(input);
+		String header = reader.readLine();
+		if (header == null) {
+			return batch.finish();
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = parseCsvLine(header);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim(), i);
+		}
+
+		CsvOwner current = null;
+		String line;
+		int lineNumber = 1;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (!StringUtils.hasText(line)) {
+				continue;
+			}
+			CsvRow row = new CsvRow(columns, parseCsvLine(line));
+			if (current == null || !current.isSameOwner(row)) {
+				if (current != null) {
+					addCsvOwner(batch, current);
+				}
+				current = new CsvOwner(lineNumber, row);
+			}
+			try {
+				current.addRow(row);
+			}
+			catch (DateTimeParseException ex) {
+				current.invalid("malformed date on line " + lineNumber + ": " + ex.getParsedString());
+			}
+		}
+		if (current != null) {
+			addCsvOwner(batch, current);
+		}
+		return batch.finish();
+	}
+
+	/**
+	 * Add the owner collected from CSV rows, or reject it as a whole if one of its rows
+	 * could not be read, rather than import it without that row.
+	 */
+	private static void addCsvOwner(Batch batch, CsvOwner owner) {
+		if (owner.problem != null) {
+			batch.result.rejected(owner.line, owner.problem);
+		}
+		else {
+			batch.add(owner.line, owner.toImportedOwner());
+		}
+	}
+
+	private Owner toOwner(ImportedOwner imported, Map<String, PetType> petTypes, List<String> problems) {
+		Owner owner = new Owner();
+		owner.setFirstName(imported.firstName());
+		owner.setLastName(imported.lastName());
+		owner.setAddress(imported.address());
+		owner.setCity(imported.city());
+		owner.setTelephone(imported.telephone());
+		problems.addAll(violations(owner));
+
+		if (imported.pets() == null) {
+			return owner;
+		}
+		for (ImportedPet importedPet : imported.pets()) {
+			Pet pet = new Pet();
+			pet.setName(importedPet.name());
+			pet.setBirthDate(importedPet.birthDate());
+			if (importedPet.type() != null) {
+				pet.setType(petTypes.get(importedPet.type()));
+				if (pet.getType() == null) {
+					problems.add("pet " + importedPet.name() + ": unknown type " + importedPet.type());
+				}
+			}
+			Errors errors = new BeanPropertyBindingResult(pet, "pet");
+			this.petValidator.validate(pet, errors);
+			errors.getFieldErrors()
+				.forEach(error -> problems.add("pet " + importedPet.name() + ": " + error.getField() + " "
+						+ error.getDefaultMessage()));
+			if (StringUtils.hasText(pet.getName()) && owner.getPet(pet.getName()) != null) {
+				problems.add("pet " + importedPet.name() + ": name already exists");
+			}
+			if (importedPet.visits() != null) {
+				for (ImportedVisit importedVisit : importedPet.visits()) {
+					Visit visit = new Visit();
+					if (importedVisit.date() != null) {
+						visit.setDate(importedVisit.date());
+					}
+					visit.setDescription(importedVisit.description());
+					violations(visit).forEach(problem -> problems.add("visit of " + importedPet.name() + ": " + problem));
+					pet.addVisit(visit);
+				}
+			}
+			owner.addPet(pet);
+		}
+		return owner;
+	}
+
+	private List<String> violations(Object bean) {
+		Set<ConstraintViolation<Object>> violations = this.validator.validate(bean);
+		return violations.stream()
+			.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+			.sorted()
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Splits one CSV line into its fields, honoring double-quoted fields with escaped
+	 * ({@code ""}) quotes. Fields spanning several lines are not supported.
+	 */
+	static List<String> parseCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				}
+				else if (c == '"') {
+					quoted = false;
+				}
+				else {
+					field.append(c);
+				}
+			}
+			else if (c == '"') {
+				quoted = true;
+			}
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Validates owners as they arrive and writes them in batches of
+	 * <code>petclinic.import.batch-size</code>, one transaction per batch.
+	 */
+	private final class Batch {
+
+		private final ImportResult result = new ImportResult();
+
+		private final Map<String, PetType> petTypes = types.findPetTypes()
+			.stream()
+			.collect(Collectors.toMap(PetType::getName, type -> type, (first, second) -> first));
+
+		private final List<Owner> pending = new ArrayList<>(batchSize);
+
+		void add(int line, ImportedOwner imported) {
+			List<String> problems = new ArrayList<>();
+			Owner owner = toOwner(imported, this.petTypes, problems);
+			if (!problems.isEmpty()) {
+				this.result.rejected(line, String.join("; ", problems));
+				return;
+			}
+			this.pending.add(owner);
+			if (this.pending.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		private void flush() {
+			if (this.pending.isEmpty()) {
+				return;
+			}
+			transactionTemplate.executeWithoutResult(status -> owners.saveAll(this.pending));
+			this.result.imported(this.pending.size());
+			this.pending.clear();
+			logger.info("Imported {} owners so far, {} rejected", this.result.getImported(),
+					this.result.getRejected());
+		}
+
+		ImportResult finish() {
+			flush();
+			return this.result;
+		}
+
+	}
+
+	record ImportedOwner(String firstName, String lastName, String address, String city, String telephone,
+			List<ImportedPet> pets) {
+	}
+
+	record ImportedPet(String name, LocalDate birthDate, String type, List<ImportedVisit> visits) {
+	}
+
+	record ImportedVisit(LocalDate date, String description) {
+	}
+
+	private record CsvRow(Map<String, Integer> columns, List<String> fields) {
+
+		String get(String column) {
+			Integer index = this.columns.get(column);
+			if (index == null || index >= this.fields.size()) {
+				return null;
+			}
+			String value = this.fields.get(index).trim();
+			return value.isEmpty() ? null : value;
+		}
+
+		LocalDate getDate(String column) {
+			String value = get(column);
+			return (value != null) ? LocalDate.parse(value) : null;
+		}
+
+	}
+
+	/**
+	 * Collects the consecutive CSV rows of one owner.
+	 */
+	private static final class CsvOwner {
+
+		private final int line;
+
+		private final CsvRow first;
+
+		private final Map<String, ImportedPet> pets = new LinkedHashMap<>();
+
+		private String problem;
+
+		CsvOwner(int line, CsvRow first) {
+			this.line = line;
+			this.first = first;
+		}
+
+		/**
+		 * Mark the owner as invalid, keeping the first problem found.
+		 */
+		void invalid(String problem) {
+			if (this.problem == null) {
+				this.problem = problem;
+			}
+		}
+
+		boolean isSameOwner(CsvRow row) {
+			for (String column : List.of("firstName", "lastName", "address", "city", "telephone")) {
+				if (!Objects.equals(this.first.get(column), row.get(column))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void addRow(CsvRow row) {
+			String petName = row.get("petName");
+			if (petName == null) {
+				return;
+			}
+			ImportedPet pet = this.pets.computeIfAbsent(petName, name -> new ImportedPet(name,
+					row.getDate("petBirthDate"), row.get("petType"), new ArrayList<>()));
+			String description = row.get("visitDescription");
+			LocalDate date = row.getDate("visitDate");
+			if (description != null || date != null) {
+				pet.visits().add(new ImportedVisit(date, description));
+			}
+		}
+
+		ImportedOwner toImportedOwner() {
+			return new ImportedOwner(this.first.get("firstName"), this.first.get("lastName"),
+					this.first.get("address"), this.first.get("city"), this.first.get("telephone"),
+					new ArrayList<>(this.pets.values()));
+		}
+
+	}
+
+}
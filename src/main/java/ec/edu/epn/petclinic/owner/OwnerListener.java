@@ -0,0 +1,83 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that applies written owners to the {@link OwnerNameIndex} and the
+ * {@link OwnerSearchIndex} and removes them and their pets from the {@link MissingIds}
+ * once the transaction has committed, so rolled back changes never become visible.
+ * Hibernate obtains it from the Spring bean factory; the beans are resolved lazily
+ * because listeners are created while the persistence unit starts.
+ */
+class OwnerListener {
+
+	private final ObjectProvider<OwnerNameIndex> nameIndex;
+
+	private final ObjectProvider<OwnerSearchIndex> searchIndex;
+
+	private final ObjectProvider<MissingIds> missingIds;
+
+	OwnerListener(ObjectProvider<OwnerNameIndex> nameIndex, ObjectProvider<OwnerSearchIndex> searchIndex,
+			ObjectProvider<MissingIds> missingIds) {
+		this.nameIndex = nameIndex;
+		this.searchIndex = searchIndex;
+		this.missingIds = missingIds;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void ownerSaved(Owner owner) {
+		int id = owner.getId();
+		String lastName = owner.getLastName();
+		// pets can only have been added if they were loaded, otherwise the search rows
+		// are read again once committed
+		boolean petsLoaded = Hibernate.isInitialized(owner.getPets());
+		List<Integer> petIds = petsLoaded ? owner.getPets().stream().map(Pet::getId).toList() : List.of();
+		List<OwnerSearchRow> searchRows = petsLoaded ? OwnerSearchRow.of(owner) : null;
+		afterCommit(() -> {
+			this.nameIndex.ifAvailable(index -> index.put(id, lastName));
+			this.searchIndex.ifAvailable(index -> {
+				if (searchRows != null) {
+					index.put(id, searchRows);
+				}
+				else {
+					index.refresh(id);
+				}
+			});
+			this.missingIds.ifAvailable(missing -> missing.saved(id, petIds));
+		});
+	}
+
+	@PostRemove
+	void ownerRemoved(Owner owner) {
+		int id = owner.getId();
+		afterCommit(() -> {
+			this.nameIndex.ifAvailable(index -> index.remove(id));
+			this.searchIndex.ifAvailable(index -> index.remove(id));
+		});
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+		else {
+			action.run();
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import ec.edu.epn.petclinic.system.EntityNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Request-scoped identity map for {@link Owner} aggregates.
+ * <p>
+ * Model attribute methods and handler methods of the owner, pet and visit controllers
+ * all need the same owner. Resolving it through this loader guarantees each owner is
+ * read from the data store at most once per request, no matter how many of them ask.
+ * Lookups are counted across requests as <code>petclinic.owners.loads</code>, tagged
+ * with whether they were a <code>hit</code> or had to query the data store
+ * (<code>miss</code>).
+ * </p>
+ */
+@Component
+@RequestScope
+public class OwnerLoader {
+
+	private final OwnerRepository owners;
+
+	private final MissingIds missingIds;
+
+	private final Map<Integer, Owner> loaded = new HashMap<>();
+
+	private int hits;
+
+	private int misses;
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	public OwnerLoader(OwnerRepository owners, MissingIds missingIds, MeterRegistry registry) {
+		this.owners = owners;
+		this.missingIds = missingIds;
+		// registering returns the counters already registered by earlier requests
+		this.hitCounter = loads("hit", registry);
+		this.missCounter = loads("miss", registry);
+	}
+
+	private static Counter loads(String result, MeterRegistry registry) {
+		return Counter.builder("petclinic.owners.loads")
+			.description("Owner lookups through the request-scoped identity map")
+			.tag("result", result)
+			.register(registry);
+	}
+
+	/**
+	 * Return the {@link Owner} with the given id and its pets, loading it with
+	 * {@link OwnerRepository#findDetailsById(Integer)} on first access only. Ids already
+	 * known to be {@link MissingIds missing} are rejected without a query.
+	 * @param ownerId the id of the owner
+	 * @return the owner, never {@literal null}
+	 * @throws EntityNotFoundException if no owner exists with the given id
+	 */
+	public Owner load(int ownerId) {
+		Owner owner = this.loaded.get(ownerId);
+		if (owner != null) {
+			this.hits++;
+			this.hitCounter.increment();
+			return owner;
+		}
+		if (this.missingIds.isOwnerMissing(ownerId)) {
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		this.misses++;
+		this.missCounter.increment();
+		owner = this.owners.findDetailsById(ownerId).orElse(null);
+		if (owner == null) {
+			this.missingIds.ownerMissing(ownerId);
+			throw new EntityNotFoundException("Owner", ownerId);
+		}
+		this.loaded.put(ownerId, owner);
+		return owner;
+	}
+
+	/**
+	 * Number of lookups in the current request that were served without a query.
+	 */
+	public int getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Number of lookups in the current request that had to query the data store.
+	 */
+	public int getMisses() {
+		return this.misses;
+	}
+
+}
@@ -0,0 +1,7 @@
+package ec.edu.epn.petclinic.owner;
+
+/**
+ * Id and last name of an owner, the only columns {@link OwnerNameIndex} needs.
+ */
+public record OwnerName(Integer id, String lastName) {
+}
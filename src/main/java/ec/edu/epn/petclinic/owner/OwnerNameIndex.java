@@ -0,0 +1,213 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory index of owner last names, sorted by normalized last name and id, that
+ * answers prefix searches without querying the database.
+ * <p>
+ * Matching is case-insensitive in the same way as the H2 <code>VARCHAR_IGNORECASE</code>
+ * column (and {@link String#CASE_INSENSITIVE_ORDER}): every character is folded on its
+ * own, so a prefix of a name is always a prefix of its normalized form. A search is a
+ * skip list seek followed by a walk over the matches, O(log n + page size).
+ * </p>
+ * <p>
+ * The index is loaded once the application is ready and kept current by
+ * {@link OwnerListener} after every committed owner change. Until it is loaded
+ * {@link #isReady()} returns {@literal false} and callers fall back to the database.
+ * </p>
+ * <p>
+ * Only changes committed by this instance reach the index, so with several instances
+ * sharing a database each would miss the owners written by the others. The index is
+ * therefore off unless <code>petclinic.owners.name-index.enabled=true</code>, which is
+ * only safe for a single instance; otherwise the database seek answers every search.
+ * </p>
+ * <p>
+ * Lookups are timed as <code>petclinic.owners.name-index</code>, tagged with the
+ * <code>operation</code> (<code>find</code> or <code>suggest</code>), with the 50th and
+ * 99th percentiles published. <code>OwnerNameIndexBenchmark</code> measures them over a
+ * million owners.
+ * </p>
+ */
+@Component
+public class OwnerNameIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(OwnerNameIndex.class);
+
+	private final OwnerRepository owners;
+
+	private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+	private final Map<Integer, Entry> entriesById = new ConcurrentHashMap<>();
+
+	private final boolean enabled;
+
+	private final Timer findTimer;
+
+	private final Timer suggestTimer;
+
+	private volatile boolean ready;
+
+	public OwnerNameIndex(OwnerRepository owners, MeterRegistry registry,
+			@Value("${petclinic.owners.name-index.enabled:false}") boolean enabled) {
+		this.owners = owners;
+		this.enabled = enabled;
+		this.findTimer = timer("find", registry);
+		this.suggestTimer = timer("suggest", registry);
+	}
+
+	private static Timer timer(String operation, MeterRegistry registry) {
+		return Timer.builder("petclinic.owners.name-index")
+			.description("Last name prefix lookups in the in-memory index")
+			.tag("operation", operation)
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+	}
+
+	/**
+	 * Load the last names of all owners, if the index is enabled. Owners indexed
+	 * concurrently by {@link OwnerListener} while loading are kept as they are, since
+	 * they are newer.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void load() {
+		if (!this.enabled) {
+			return;
+		}
+		try (Stream<OwnerName> names = this.owners.streamNames()) {
+			names.forEach(name -> this.entriesById.computeIfAbsent(name.id(), id -> add(id, name.lastName())));
+		}
+		this.ready = true;
+		logger.info("Indexed {} owner last names", this.entriesById.size());
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	/**
+	 * Find the ids of owners whose last name starts with the given prefix, ignoring case,
+	 * ordered by last name and id.
+	 * @param prefix the last name prefix, empty for all owners
+	 * @param after position of the last owner already returned, or
+	 * {@link OwnerCursor#FIRST}
+	 * @param limit maximum number of ids to return
+	 * @return the matching ids
+	 */
+	List<Integer> findIds(String prefix, OwnerCursor after, int limit) {
+		return this.findTimer.record(() -> find(prefix, after, limit));
+	}
+
+	private List<Integer> find(String prefix, OwnerCursor after, int limit) {
+		String key = normalize(prefix);
+		List<Integer> ids = new ArrayList<>(limit);
+		for (Entry entry : tail(key, after)) {
+			if (ids.size() == limit || !entry.key().startsWith(key)) {
+				break;
+			}
+			ids.add(entry.id());
+		}
+		return ids;
+	}
+
+	/**
+	 * Suggest distinct last names starting with the given prefix, ignoring case, in
+	 * order.
+	 * @param prefix the typed prefix
+	 * @param limit maximum number of names to return
+	 * @return the matching last names, spelled as stored
+	 */
+	public List<String> suggestLastNames(String prefix, int limit) {
+		return this.suggestTimer.record(() -> suggest(prefix, limit));
+	}
+
+	private List<String> suggest(String prefix, int limit) {
+		String key = normalize(prefix);
+		List<String> names = new ArrayList<>(limit);
+		String previous = null;
+		for (Entry entry : tail(key, OwnerCursor.FIRST)) {
+			if (names.size() == limit || !entry.key().startsWith(key)) {
+				break;
+			}
+			if (!entry.key().equals(previous)) {
+				names.add(entry.lastName());
+				previous = entry.key();
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Add the owner, or move it if its last name changed.
+	 */
+	void put(int id, String lastName) {
+		if (!this.enabled) {
+			return;
+		}
+		this.entriesById.compute(id, (key, previous) -> {
+			if (previous != null) {
+				this.entries.remove(previous);
+			}
+			return add(id, lastName);
+		});
+	}
+
+	void remove(int id) {
+		this.entriesById.computeIfPresent(id, (key, previous) -> {
+			this.entries.remove(previous);
+			return null;
+		});
+	}
+
+	private Entry add(int id, String lastName) {
+		Entry entry = new Entry(normalize(lastName), id, lastName);
+		this.entries.add(entry);
+		return entry;
+	}
+
+	private NavigableSet<Entry> tail(String key, OwnerCursor after) {
+		Entry from = new Entry(key, Integer.MIN_VALUE, key);
+		Entry cursor = new Entry(normalize(after.lastName()), after.id(), after.lastName());
+		return (cursor.compareTo(from) > 0) ? this.entries.tailSet(cursor, false) : this.entries.tailSet(from, true);
+	}
+
+	static String normalize(String lastName) {
+		if (lastName == null) {
+			return "";
+		}
+		char[] chars = lastName.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	private record Entry(String key, int id, String lastName) implements Comparable<Entry> {
+
+		@Override
+		public int compareTo(Entry other) {
+			int byKey = this.key.compareTo(other.key);
+			return (byKey != 0) ? byKey : Integer.compare(this.id, other.id);
+		}
+
+	}
+
+}
@@ -1,11 +1,29 @@
 
 package ec.edu.epn.petclinic.owner;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
@@ -15,6 +33,25 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 
+	/**
+	 * Selects the columns rendered by the owners list, with the pet names aggregated
+	 * per owner, so a whole page is read in one statement.
+	 */
+	String SELECT_SUMMARY = "SELECT new ec.edu.epn.petclinic.owner.OwnerSummary(owner.id, owner.firstName, "
+			+ "owner.lastName, owner.address, owner.city, owner.telephone, "
+			+ "LISTAGG(pet.name, ', ') WITHIN GROUP (ORDER BY pet.name)) "
+			+ "FROM Owner owner LEFT JOIN owner.pets pet ";
+
+	String GROUP_SUMMARY = "GROUP BY owner.id, owner.firstName, owner.lastName, owner.address, owner.city, "
+			+ "owner.telephone ";
+
+	/**
+	 * Selects the columns indexed by {@link OwnerSearchIndex}, one row per pet.
+	 */
+	String SELECT_SEARCH_ROW = "SELECT new ec.edu.epn.petclinic.owner.OwnerSearchRow(owner.id, owner.firstName, "
+			+ "owner.lastName, owner.address, owner.city, owner.telephone, pet.name) "
+			+ "FROM Owner owner LEFT JOIN owner.pets pet ";
+
 	/**
 	 * Retrieve {@link Owner}s from the data store by last name, returning all owners
 	 * whose last name <i>starts</i> with the given name.
@@ -24,6 +61,169 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve a {@link Slice} of {@link OwnerSummary owner summaries} whose last name
+	 * <i>starts</i> with the given name, ordered by last name and id. Unlike
+	 * {@link #findByLastNameStartingWith(String, Pageable)} this does not issue a count
+	 * query; it reads one extra row to tell whether a next slice exists.
+	 * @param lastName Value to search for
+	 * @param pageable the slice to retrieve
+	 * @return a Slice of matching owners (or an empty Slice if none found)
+	 */
+	@Transactional(readOnly = true)
+	@Query(SELECT_SUMMARY + "WHERE owner.lastName LIKE :lastName% " + GROUP_SUMMARY
+			+ "ORDER BY owner.lastName, owner.id")
+	Slice<OwnerSummary> searchByLastNameStartingWith(@Param("lastName") String lastName, Pageable pageable);
+
+	/**
+	 * Count the {@link Owner}s whose last name <i>starts</i> with the given name. The
+	 * result is cached until the next {@link #save(Owner)}, so the pager can show totals
+	 * without counting the owners table on every page.
+	 * @param lastName Value to search for
+	 * @return the number of matching {@link Owner}s
+	 */
+	@Cacheable("ownerSearchTotals")
+	long countByLastNameStartingWith(String lastName);
+
+	/**
+	 * Retrieve {@link OwnerSummary owner summaries} whose last name <i>starts</i> with
+	 * the given name and that sort after the given position, ordered by last name and
+	 * id.
+	 * <p>
+	 * This is keyset (seek) pagination: the position is taken from the last owner of the
+	 * previous page, so the database seeks straight to it through the last name index
+	 * instead of counting and skipping all preceding rows like an OFFSET query does.
+	 * </p>
+	 * @param lastName Value to search for
+	 * @param afterLastName last name of the last owner already returned, or an empty
+	 * String for the first page
+	 * @param afterId id of the last owner already returned, or {@literal 0} for the first
+	 * page
+	 * @param limit maximum number of owners to return
+	 * @return a List of matching owners (or an empty List if none found)
+	 */
+	@Transactional(readOnly = true)
+	@Query(SELECT_SUMMARY + "WHERE owner.lastName LIKE :lastName% "
+			+ "AND (owner.lastName > :afterLastName OR (owner.lastName = :afterLastName AND owner.id > :afterId)) "
+			+ GROUP_SUMMARY + "ORDER BY owner.lastName, owner.id")
+	List<OwnerSummary> seekByLastNameStartingWith(@Param("lastName") String lastName,
+			@Param("afterLastName") String afterLastName, @Param("afterId") int afterId, Limit limit);
+
+	/**
+	 * Retrieve the distinct last names starting with the given name, in order, for
+	 * search-as-you-type suggestions.
+	 * @param lastName Value to search for
+	 * @param limit maximum number of last names to return
+	 * @return the matching last names
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT DISTINCT owner.lastName FROM Owner owner WHERE owner.lastName LIKE :lastName% "
+			+ "ORDER BY owner.lastName")
+	List<String> findLastNamesStartingWith(@Param("lastName") String lastName, Limit limit);
+
+	/**
+	 * Retrieve the {@link OwnerSummary owner summaries} of the given owners, in no
+	 * particular order.
+	 * @param ids the owner ids
+	 * @return the summaries of the owners that exist
+	 */
+	@Transactional(readOnly = true)
+	@Query(SELECT_SUMMARY + "WHERE owner.id IN :ids " + GROUP_SUMMARY)
+	List<OwnerSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Retrieve the {@link OwnerSummary owner summaries} of the given owners, in the order
+	 * of the ids, as ranked by an in-memory index.
+	 * @param ids the owner ids
+	 * @return the summaries of the owners that exist
+	 */
+	default List<OwnerSummary> findSummariesInOrder(List<Integer> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, Integer> positions = new HashMap<>();
+		for (int i = 0; i < ids.size(); i++) {
+			positions.put(ids.get(i), i);
+		}
+		return findSummariesByIdIn(ids).stream()
+			.sorted(Comparator.comparing(summary -> positions.get(summary.getId())))
+			.toList();
+	}
+
+	/**
+	 * Stream the id and last name of every {@link Owner}, to build the
+	 * {@link OwnerNameIndex}. Must be called within a transaction and the stream must be
+	 * closed.
+	 * @return a Stream of owner names
+	 */
+	@Query("SELECT new ec.edu.epn.petclinic.owner.OwnerName(owner.id, owner.lastName) FROM Owner owner")
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	Stream<OwnerName> streamNames();
+
+	/**
+	 * Stream every {@link Owner} with the names of its {@link Pet}s, ordered by owner so
+	 * the rows of one owner are consecutive, to build the {@link OwnerSearchIndex}. Must
+	 * be called within a transaction and the stream must be closed.
+	 * @return a Stream of search rows
+	 */
+	@Query(SELECT_SEARCH_ROW + "ORDER BY owner.id")
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	Stream<OwnerSearchRow> streamSearchRows();
+
+	/**
+	 * Retrieve the search rows of the given {@link Owner}, to reindex it after a write.
+	 * Reads from the primary, since the write may not have reached a replica yet.
+	 * @param id the id of the owner
+	 * @return the rows, or an empty List if the owner does not exist
+	 */
+	@Query(SELECT_SEARCH_ROW + "WHERE owner.id = :id")
+	List<OwnerSearchRow> findSearchRowsById(@Param("id") Integer id);
+
+	/**
+	 * Retrieve the search rows of the {@link Owner}s of the given {@link Pet}s, ordered by
+	 * owner, to reindex them after the pets were written. Reads from the primary like
+	 * {@link #findSearchRowsById(Integer)}.
+	 * @param petIds the ids of the pets
+	 * @return the rows of the owners of the pets that exist
+	 */
+	@Query(SELECT_SEARCH_ROW + "WHERE owner.id IN (SELECT petOwner.id FROM Owner petOwner "
+			+ "JOIN petOwner.pets ownedPet WHERE ownedPet.id IN :petIds) ORDER BY owner.id")
+	List<OwnerSearchRow> findSearchRowsByPetIdIn(@Param("petIds") Collection<Integer> petIds);
+
+	/**
+	 * Retrieve the ids of the {@link Owner}s with a name, address, city, telephone or
+	 * {@link Pet} name containing the given word, ignoring case, ordered by last name and
+	 * id. Answers searches while the {@link OwnerSearchIndex} is loading.
+	 * @param word the word in lower case
+	 * @param limit maximum number of ids to return
+	 * @return the ids of the matching owners
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT owner.id FROM Owner owner WHERE LOWER(owner.firstName) LIKE %:word% "
+			+ "OR LOWER(owner.lastName) LIKE %:word% OR LOWER(owner.address) LIKE %:word% "
+			+ "OR LOWER(owner.city) LIKE %:word% OR LOWER(owner.telephone) LIKE %:word% "
+			+ "OR EXISTS (SELECT pet FROM owner.pets pet WHERE LOWER(pet.name) LIKE %:word%) "
+			+ "ORDER BY owner.lastName, owner.id")
+	List<Integer> findIdsContaining(@Param("word") String word, Limit limit);
+
+	/**
+	 * Stream every {@link Owner} with its {@link Pet}s and their {@link Visit}s as flat
+	 * rows, ordered by owner, pet and visit so the rows of one owner are consecutive.
+	 * <p>
+	 * The rows are read through a database cursor in chunks of the fetch size and are not
+	 * managed by the persistence context, so memory use does not depend on the number of
+	 * owners. Must be called within a transaction and the stream must be closed.
+	 * </p>
+	 * @return a Stream of export rows
+	 */
+	@Query("SELECT new ec.edu.epn.petclinic.owner.OwnerExportRow(owner.id, owner.firstName, owner.lastName, "
+			+ "owner.address, owner.city, owner.telephone, pet.id, pet.name, pet.birthDate, type.name, "
+			+ "visit.date, visit.description) "
+			+ "FROM Owner owner LEFT JOIN owner.pets pet LEFT JOIN pet.type type LEFT JOIN pet.visits visit "
+			+ "ORDER BY owner.id, pet.id, visit.id")
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	Stream<OwnerExportRow> streamExportRows();
+
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
 	 * <p>
@@ -39,4 +239,66 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Save an {@link Owner} to the data store, either inserting or updating it. Evicts
+	 * the cached search totals, since both new owners and changed last names affect
+	 * them.
+	 * @param owner the {@link Owner} to save
+	 * @return the saved {@link Owner}
+	 */
+	@Override
+	@CacheEvict(cacheNames = "ownerSearchTotals", allEntries = true)
+	<S extends Owner> S save(S owner);
+
+	/**
+	 * Save several {@link Owner}s to the data store in one go, evicting the cached
+	 * search totals like {@link #save(Owner)}.
+	 * @param owners the {@link Owner}s to save
+	 * @return the saved {@link Owner}s
+	 */
+	@Override
+	@CacheEvict(cacheNames = "ownerSearchTotals", allEntries = true)
+	<S extends Owner> List<S> saveAll(Iterable<S> owners);
+
+	/**
+	 * Retrieve an {@link Owner} together with its {@link Pet}s and their
+	 * {@link PetType}s in a single statement.
+	 * <p>
+	 * Intended for views that render the owner with its pets (such as the owner details
+	 * page), so walking the pets afterwards does not issue one query per collection. The
+	 * {@link Visit}s are not loaded, since a pet may have hundreds of them; views read a
+	 * page of them through {@link VisitRepository} instead.
+	 * </p>
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} with its pets if found, or
+	 * an empty {@link Optional} if not found.
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(attributePaths = { "pets", "pets.type" })
+	@Query("SELECT owner FROM Owner owner WHERE owner.id = :id")
+	Optional<Owner> findDetailsById(@Param("id") Integer id);
+
+	/**
+	 * Retrieve the version of an {@link Owner}, which changes whenever the owner, one of
+	 * its {@link Pet}s or one of their {@link Visit}s is written. Reads a single column
+	 * by primary key, so it is cheap enough to check on every view of the owner.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the version if the owner exists, or an
+	 * empty {@link Optional} if not found.
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT owner.version FROM Owner owner WHERE owner.id = :id")
+	Optional<Integer> findVersionById(@Param("id") Integer id);
+
+	/**
+	 * Raise the version of an {@link Owner} after the owner, one of its {@link Pet}s or
+	 * one of their {@link Visit}s has been written.
+	 * @param id the id of the owner
+	 * @return the number of owners updated, {@literal 0} if the owner does not exist
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Owner owner SET owner.version = owner.version + 1 WHERE owner.id = :id")
+	int incrementVersion(@Param("id") Integer id);
+
 }
@@ -0,0 +1,38 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Search for owners by any of their names, address, city, telephone or pet names, with
+ * the best matches first.
+ */
+@Controller
+class OwnerSearchController {
+
+	private final OwnerSearchIndex ownerSearch;
+
+	private final OwnerRepository owners;
+
+	@Value("${petclinic.search.max-results:20}")
+	private int maxResults;
+
+	public OwnerSearchController(OwnerSearchIndex ownerSearch, OwnerRepository owners) {
+		this.ownerSearch = ownerSearch;
+		this.owners = owners;
+	}
+
+	@GetMapping("/owners/search")
+	public String search(@RequestParam(name = "q", defaultValue = "") String query, Model model) {
+		List<Integer> ids = this.ownerSearch.search(query, this.maxResults);
+		model.addAttribute("query", query);
+		model.addAttribute("listOwners", this.owners.findSummariesInOrder(ids));
+		return "owners/ownersList";
+	}
+
+}
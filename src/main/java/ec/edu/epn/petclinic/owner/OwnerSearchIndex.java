@@ -0,0 +1,311 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Inverted index over the fields the front desk searches by: owner first and last name,
+ * address, city and telephone, and the names of the owner's pets.
+ * <p>
+ * Every field is split into words, folded to lower case like {@link OwnerNameIndex}, and
+ * each word maps to the owners containing it with the weight of the most specific field
+ * it occurs in. A query matches the owners that contain every query word, either exactly
+ * or as a prefix; owners are ranked by the summed weights, doubled for exact words.
+ * </p>
+ * <p>
+ * The index is loaded once the application is ready and kept current by
+ * {@link OwnerListener} and {@link PetListener} after every committed owner or pet
+ * change. Until it is loaded, searches fall back to the database. Searches read without
+ * locking; writes are serialized, since owners share words. Search latency is published
+ * as the <code>petclinic.owners.search</code> timer.
+ * </p>
+ * <p>
+ * Like {@link OwnerNameIndex}, the index only sees the changes committed by this
+ * instance: with several instances sharing a database it would miss owners and pets
+ * written by the others and keep finding owners they deleted. It is therefore off
+ * unless <code>petclinic.owners.search-index.enabled=true</code>, which is only safe for
+ * a single instance; otherwise every search is answered by the database.
+ * </p>
+ */
+@Component
+public class OwnerSearchIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(OwnerSearchIndex.class);
+
+	private static final int LAST_NAME_WEIGHT = 4;
+
+	private static final int TELEPHONE_WEIGHT = 4;
+
+	private static final int FIRST_NAME_WEIGHT = 3;
+
+	private static final int PET_NAME_WEIGHT = 3;
+
+	private static final int CITY_WEIGHT = 2;
+
+	private static final int ADDRESS_WEIGHT = 1;
+
+	private final OwnerRepository owners;
+
+	private final Timer searchTimer;
+
+	/** Word to owner id to weight. */
+	private final ConcurrentNavigableMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+
+	/** Owner id to the words indexed for it, so a changed owner can be removed. */
+	private final Map<Integer, Map<String, Integer>> wordsByOwner = new ConcurrentHashMap<>();
+
+	private final boolean enabled;
+
+	private volatile boolean ready;
+
+	public OwnerSearchIndex(OwnerRepository owners, MeterRegistry registry,
+			@Value("${petclinic.owners.search-index.enabled:false}") boolean enabled) {
+		this.owners = owners;
+		this.enabled = enabled;
+		this.searchTimer = Timer.builder("petclinic.owners.search")
+			.description("Multi-field owner searches")
+			.publishPercentiles(0.5, 0.99)
+			.register(registry);
+		Gauge.builder("petclinic.owners.search.indexed", this.wordsByOwner, Map::size)
+			.description("Owners in the search index")
+			.register(registry);
+	}
+
+	/**
+	 * Index every owner, if the index is enabled, reading them with their pet names from
+	 * a database cursor. Owners indexed concurrently by {@link OwnerListener} while
+	 * loading are kept, since they are newer.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void load() {
+		if (!this.enabled) {
+			return;
+		}
+		try (Stream<OwnerSearchRow> rows = this.owners.streamSearchRows()) {
+			Iterator<OwnerSearchRow> iterator = rows.iterator();
+			Integer ownerId = null;
+			Map<String, Integer> words = new HashMap<>();
+			while (iterator.hasNext()) {
+				OwnerSearchRow row = iterator.next();
+				if (!row.ownerId().equals(ownerId)) {
+					loaded(ownerId, words);
+					ownerId = row.ownerId();
+					words = new HashMap<>();
+				}
+				addWords(words, row);
+			}
+			loaded(ownerId, words);
+		}
+		this.ready = true;
+		logger.info("Indexed {} owners for search", this.wordsByOwner.size());
+	}
+
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	/**
+	 * Index the owner, replacing what was indexed for it before.
+	 * @param id the id of the owner
+	 * @param rows the owner with the names of all of its pets
+	 */
+	synchronized void put(int id, List<OwnerSearchRow> rows) {
+		if (!this.enabled) {
+			return;
+		}
+		Map<String, Integer> words = new HashMap<>();
+		rows.forEach(row -> addWords(words, row));
+		this.wordsByOwner.compute(id, (key, previous) -> {
+			if (previous != null) {
+				previous.keySet().forEach(word -> removePosting(word, key));
+			}
+			words.forEach((word, weight) -> addPosting(word, key, weight));
+			return words;
+		});
+	}
+
+	/**
+	 * Reindex the owner from the database, or remove it if it no longer exists.
+	 * @param id the id of the owner
+	 */
+	void refresh(int id) {
+		if (!this.enabled) {
+			return;
+		}
+		List<OwnerSearchRow> rows = this.owners.findSearchRowsById(id);
+		if (rows.isEmpty()) {
+			remove(id);
+		}
+		else {
+			put(id, rows);
+		}
+	}
+
+	/**
+	 * Reindex the owners of the pets from the database, in one query.
+	 * @param petIds the ids of the pets
+	 */
+	void refreshOwnersOfPets(Collection<Integer> petIds) {
+		if (!this.enabled) {
+			return;
+		}
+		Map<Integer, List<OwnerSearchRow>> rowsByOwner = new LinkedHashMap<>();
+		for (OwnerSearchRow row : this.owners.findSearchRowsByPetIdIn(petIds)) {
+			rowsByOwner.computeIfAbsent(row.ownerId(), id -> new ArrayList<>()).add(row);
+		}
+		rowsByOwner.forEach(this::put);
+	}
+
+	synchronized void remove(int id) {
+		this.wordsByOwner.computeIfPresent(id, (key, previous) -> {
+			previous.keySet().forEach(word -> removePosting(word, key));
+			return null;
+		});
+	}
+
+	/**
+	 * Find the owners matching every word of the query, best match first.
+	 * <p>
+	 * While the index is disabled or not yet loaded the owners are read from the
+	 * database instead, matching the longest query word anywhere in a field and ordered
+	 * by last name.
+	 * </p>
+	 * @param query words to search for, such as a telephone number or a pet name
+	 * @param limit maximum number of owners to return
+	 * @return the ids of the matching owners
+	 */
+	public List<Integer> search(String query, int limit) {
+		if (!this.ready) {
+			return this.searchTimer.record(() -> searchDatabase(query, limit));
+		}
+		return this.searchTimer.record(() -> rank(query, limit));
+	}
+
+	private List<Integer> searchDatabase(String query, int limit) {
+		return words(query).stream()
+			.max(Comparator.comparingInt(String::length))
+			.map(word -> this.owners.findIdsContaining(word, Limit.of(limit)))
+			.orElse(List.of());
+	}
+
+	private List<Integer> rank(String query, int limit) {
+		List<String> words = words(query);
+		if (words.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, Integer> scores = null;
+		for (String word : words) {
+			Map<Integer, Integer> matches = match(word);
+			if (scores == null) {
+				scores = matches;
+			}
+			else {
+				Map<Integer, Integer> previous = scores;
+				scores = new HashMap<>();
+				for (Map.Entry<Integer, Integer> match : matches.entrySet()) {
+					Integer score = previous.get(match.getKey());
+					if (score != null) {
+						scores.put(match.getKey(), score + match.getValue());
+					}
+				}
+			}
+			if (scores.isEmpty()) {
+				return List.of();
+			}
+		}
+		return scores.entrySet()
+			.stream()
+			.sorted(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+				.thenComparing(Map.Entry.comparingByKey()))
+			.limit(limit)
+			.map(Map.Entry::getKey)
+			.toList();
+	}
+
+	/**
+	 * Score the owners containing the word or a longer word starting with it.
+	 */
+	private Map<Integer, Integer> match(String word) {
+		Map<Integer, Integer> scores = new HashMap<>();
+		for (Map.Entry<String, Map<Integer, Integer>> posting : this.postings
+			.subMap(word, true, word + Character.MAX_VALUE, false)
+			.entrySet()) {
+			int factor = posting.getKey().equals(word) ? 2 : 1;
+			posting.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+		}
+		return scores;
+	}
+
+	private synchronized void loaded(Integer ownerId, Map<String, Integer> words) {
+		if (ownerId != null) {
+			this.wordsByOwner.computeIfAbsent(ownerId, id -> {
+				words.forEach((word, weight) -> addPosting(word, id, weight));
+				return words;
+			});
+		}
+	}
+
+	private void addPosting(String word, int id, int weight) {
+		this.postings.computeIfAbsent(word, key -> new ConcurrentHashMap<>()).put(id, weight);
+	}
+
+	private void removePosting(String word, int id) {
+		this.postings.computeIfPresent(word, (key, ids) -> {
+			ids.remove(id);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	private static void addWords(Map<String, Integer> words, OwnerSearchRow row) {
+		addWords(words, row.firstName(), FIRST_NAME_WEIGHT);
+		addWords(words, row.lastName(), LAST_NAME_WEIGHT);
+		addWords(words, row.address(), ADDRESS_WEIGHT);
+		addWords(words, row.city(), CITY_WEIGHT);
+		addWords(words, row.telephone(), TELEPHONE_WEIGHT);
+		addWords(words, row.petName(), PET_NAME_WEIGHT);
+	}
+
+	private static void addWords(Map<String, Integer> words, String text, int weight) {
+		for (String word : words(text)) {
+			words.merge(word, weight, Math::max);
+		}
+	}
+
+	static List<String> words(String text) {
+		List<String> words = new ArrayList<>();
+		if (text == null) {
+			return words;
+		}
+		for (String word : OwnerNameIndex.normalize(text).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+}
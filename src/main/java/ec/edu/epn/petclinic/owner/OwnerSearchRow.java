@@ -0,0 +1,31 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The columns {@link OwnerSearchIndex} reads: an owner with the name of one of its pets,
+ * one row per pet, or a single row without a pet name if the owner has no pets.
+ */
+public record OwnerSearchRow(Integer ownerId, String firstName, String lastName, String address, String city,
+		String telephone, String petName) {
+
+	/**
+	 * Take the rows of an owner whose pets are loaded.
+	 * @param owner the owner
+	 * @return one row per pet, or a single row if the owner has no pets
+	 */
+	static List<OwnerSearchRow> of(Owner owner) {
+		List<OwnerSearchRow> rows = new ArrayList<>();
+		for (Pet pet : owner.getPets()) {
+			rows.add(new OwnerSearchRow(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+					owner.getCity(), owner.getTelephone(), pet.getName()));
+		}
+		if (rows.isEmpty()) {
+			rows.add(new OwnerSearchRow(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+					owner.getCity(), owner.getTelephone(), null));
+		}
+		return rows;
+	}
+
+}
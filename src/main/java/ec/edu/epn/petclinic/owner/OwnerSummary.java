@@ -0,0 +1,67 @@
+package ec.edu.epn.petclinic.owner;
+
+/**
+ * Read-only view of an {@link Owner} holding exactly what the owners list page renders.
+ * Loaded with a single aggregating query instead of materializing each owner and its
+ * pets collection.
+ */
+public class OwnerSummary {
+
+	private final Integer id;
+
+	private final String firstName;
+
+	private final String lastName;
+
+	private final String address;
+
+	private final String city;
+
+	private final String telephone;
+
+	private final String petNames;
+
+	public OwnerSummary(Integer id, String firstName, String lastName, String address, String city,
+			String telephone, String petNames) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.address = address;
+		this.city = city;
+		this.telephone = telephone;
+		this.petNames = petNames;
+	}
+
+	public Integer getId() {
+		return this.id;
+	}
+
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	public String getAddress() {
+		return this.address;
+	}
+
+	public String getCity() {
+		return this.city;
+	}
+
+	public String getTelephone() {
+		return this.telephone;
+	}
+
+	/**
+	 * Names of the owner's pets in alphabetical order, separated by a comma, or
+	 * {@literal null} if the owner has no pets.
+	 */
+	public String getPetNames() {
+		return this.petNames;
+	}
+
+}
@@ -11,6 +11,7 @@ import ec.edu.epn.petclinic.model.NamedEntity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -23,12 +24,9 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "pets")
+@EntityListeners(PetListener.class)
 public class Pet extends NamedEntity {
 
-	// Override name field from NamedEntity to remove @NotBlank validation
-	@Column(name = "name")
-	private String name;
-
 	@Column
 	@DateTimeFormat(pattern = "yyyy-MM-dd")
 	private LocalDate birthDate;
@@ -42,16 +40,6 @@ public class Pet extends NamedEntity {
 	@OrderBy("date ASC")
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
-	@Override
-	public String getName() {
-		return this.name;
-	}
-
-	@Override
-	public void setName(String name) {
-		this.name = name;
-	}
-
 	public void setBirthDate(LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -4,7 +4,6 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
@@ -20,7 +19,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import ec.edu.epn.petclinic.system.EntityNotFoundException;
 import jakarta.validation.Valid;
 
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -33,6 +31,10 @@ class PetController {
 
 	private final OwnerRepository owners;
 
+	private final OwnerLoader ownerLoader;
+
+	private final OwnerDetailsLoader ownerDetails;
+
 	private final PetTypeRepository types;
 
 	private final PetValidator petValidator;
@@ -42,8 +44,11 @@ class PetController {
 	@Value("${petclinic.pagination.size:5}")
 	private int pageSize;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types, PetValidator petValidator, Clock clock) {
+	public PetController(OwnerRepository owners, OwnerLoader ownerLoader, OwnerDetailsLoader ownerDetails,
+			PetTypeRepository types, PetValidator petValidator, Clock clock) {
 		this.owners = owners;
+		this.ownerLoader = ownerLoader;
+		this.ownerDetails = ownerDetails;
 		this.types = types;
 		this.petValidator = petValidator;
 		this.clock = clock;
@@ -56,8 +61,7 @@ class PetController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		return optionalOwner.orElseThrow(() -> new EntityNotFoundException("Owner", ownerId));
+		return this.ownerLoader.load(ownerId);
 	}
 
 	@ModelAttribute("pet")
@@ -68,9 +72,7 @@ class PetController {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new EntityNotFoundException("Owner", ownerId));
-		return owner.getPet(petId);
+		return this.ownerLoader.load(ownerId).getPet(petId);
 	}
 
 	@InitBinder("owner")
@@ -108,6 +110,7 @@ class PetController {
 
 		owner.addPet(pet);
 		this.owners.save(owner);
+		this.ownerDetails.changed(owner.getId());
 		redirectAttributes.addFlashAttribute("message", "New Pet has been Added");
 		return "redirect:/owners/{ownerId}";
 	}
@@ -164,6 +167,7 @@ class PetController {
 			owner.addPet(pet);
 		}
 		this.owners.save(owner);
+		this.ownerDetails.changed(owner.getId());
 	}
 
 }
@@ -0,0 +1,63 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that reindexes the owners of added or changed pets in the
+ * {@link OwnerSearchIndex} once the transaction has committed. Adding a pet only changes
+ * the owner's pets collection, which does not count as an update of the owner, and a pet
+ * does not know its owner, so the owners are read again: once per transaction for all of
+ * its pets, since an import adds hundreds at a time. Hibernate obtains it from the Spring
+ * bean factory like {@link OwnerListener}.
+ */
+class PetListener {
+
+	/** Transaction resource key of the ids of the pets saved in the transaction. */
+	private static final Object SAVED_PETS = new Object();
+
+	private final ObjectProvider<OwnerSearchIndex> searchIndex;
+
+	PetListener(ObjectProvider<OwnerSearchIndex> searchIndex) {
+		this.searchIndex = searchIndex;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void petSaved(Pet pet) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.searchIndex.ifAvailable(index -> index.refreshOwnersOfPets(List.of(pet.getId())));
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Set<Integer> petIds = (Set<Integer>) TransactionSynchronizationManager.getResource(SAVED_PETS);
+		if (petIds == null) {
+			Set<Integer> saved = new LinkedHashSet<>();
+			TransactionSynchronizationManager.bindResource(SAVED_PETS, saved);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					searchIndex.ifAvailable(index -> index.refreshOwnersOfPets(saved));
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(SAVED_PETS);
+				}
+
+			});
+			petIds = saved;
+		}
+		petIds.add(pet.getId());
+	}
+
+}
@@ -3,12 +3,24 @@ package ec.edu.epn.petclinic.owner;
 
 import ec.edu.epn.petclinic.model.NamedEntity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 
-
+/**
+ * Pet types are reference data, kept in the <code>petTypes</code> second-level cache
+ * region. Writes through Hibernate update the region and the {@link PetTypeFormatter}
+ * index.
+ */
 @Entity
 @Table(name = "types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "petTypes")
+@EntityListeners(PetTypeListener.class)
 public class PetType extends NamedEntity {
 
 }
@@ -3,23 +3,33 @@ package ec.edu.epn.petclinic.owner;
 
 import org.springframework.format.Formatter;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Instructs Spring MVC on how to parse and print elements of type 'PetType'. Starting
  * from Spring 3.0, Formatters have come as an improvement in comparison to legacy
  * PropertyEditors. See the following links for more details: - The Spring ref doc:
  * https://docs.spring.io/spring-framework/docs/current/spring-framework-reference/core.html#format
+ * <p>
+ * Parsing looks the name up in an immutable index that is loaded on first use and
+ * reloaded by {@link PetTypeListener} after pet types are written through JPA, so form
+ * binding does not query the database.
+ * </p>
  */
 @Component
 public class PetTypeFormatter implements Formatter<PetType> {
 
 	private final PetTypeRepository types;
 
+	private volatile Map<String, PetType> index;
+
 	public PetTypeFormatter(PetTypeRepository types) {
 		this.types = types;
 	}
@@ -32,13 +42,41 @@ public class PetTypeFormatter implements Formatter<PetType> {
 
 	@Override
 	public PetType parse(String text, Locale locale) throws ParseException {
-		Collection<PetType> findPetTypes = this.types.findPetTypes();
-		for (PetType type : findPetTypes) {
-			if (Objects.equals(type.getName(), text)) {
-				return type;
-			}
+		PetType type = index().get(text);
+		if (type == null) {
+			throw new ParseException("type not found: " + text, 0);
+		}
+		return type;
+	}
+
+	/**
+	 * Reload the index, once the current transaction (if any) has committed.
+	 */
+	void refresh() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					reload();
+				}
+			});
+		}
+		else {
+			reload();
 		}
-		throw new ParseException("type not found: " + text, 0);
+	}
+
+	private Map<String, PetType> index() {
+		Map<String, PetType> current = this.index;
+		return (current != null) ? current : reload();
+	}
+
+	private synchronized Map<String, PetType> reload() {
+		Map<String, PetType> loaded = this.types.findPetTypes()
+			.stream()
+			.collect(Collectors.toUnmodifiableMap(PetType::getName, Function.identity(), (first, second) -> first));
+		this.index = loaded;
+		return loaded;
 	}
 
 }
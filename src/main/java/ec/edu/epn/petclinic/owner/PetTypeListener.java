@@ -0,0 +1,58 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that keeps the {@link PetTypeFormatter} index in step with
+ * written pet types, and clears the cached {@link OwnerDetails} once the write has
+ * committed, since they show the names of the pet types. Hibernate obtains it from the
+ * Spring bean factory; the formatter and the cache manager are resolved lazily because
+ * listeners are created while the persistence unit starts.
+ */
+class PetTypeListener {
+
+	private final ObjectProvider<PetTypeFormatter> formatter;
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	PetTypeListener(ObjectProvider<PetTypeFormatter> formatter, ObjectProvider<CacheManager> cacheManager) {
+		this.formatter = formatter;
+		this.cacheManager = cacheManager;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void petTypeChanged(PetType type) {
+		this.formatter.ifAvailable(PetTypeFormatter::refresh);
+		afterCommit(() -> this.cacheManager.ifAvailable(manager -> {
+			Cache cache = manager.getCache("ownerDetails");
+			if (cache != null) {
+				cache.invalidate();
+			}
+		}));
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+		else {
+			action.run();
+		}
+	}
+
+}
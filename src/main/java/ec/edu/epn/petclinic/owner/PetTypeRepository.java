@@ -3,9 +3,13 @@
 package ec.edu.epn.petclinic.owner;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository class for <code>PetType</code> domain objects.
@@ -14,10 +18,27 @@ import org.springframework.data.jpa.repository.Query;
 public interface PetTypeRepository extends JpaRepository<PetType, Integer> {
 
 	/**
-	 * Retrieve all {@link PetType}s from the data store.
+	 * Retrieve all {@link PetType}s from the data store. The result is kept in the
+	 * query cache until the <code>types</code> table is written to.
 	 * @return a Collection of {@link PetType}s.
 	 */
 	@Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	List<PetType> findPetTypes();
 
+	/**
+	 * Summarize the ids and names of all {@link PetType}s, read through
+	 * {@link #findPetTypes()} and so usually from the query cache. Adding, renaming or
+	 * removing a pet type changes the result, so pages that show pet type names can make
+	 * it part of their <code>ETag</code>.
+	 * @return a hash of the pet types
+	 */
+	default int findPetTypesVersion() {
+		int version = 1;
+		for (PetType type : findPetTypes()) {
+			version = 31 * version + Objects.hash(type.getId(), type.getName());
+		}
+		return version;
+	}
+
 }
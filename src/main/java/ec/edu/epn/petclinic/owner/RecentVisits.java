@@ -0,0 +1,31 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+/**
+ * One page of the visit history of a pet, newest first.
+ *
+ * @param visits the visits on this page
+ * @param more whether the pet has older visits than those on this page
+ */
+public record RecentVisits(List<Visit> visits, boolean more) {
+
+	/**
+	 * Trim visits read with one extra row to a page.
+	 * @param visits up to {@code size + 1} visits, newest first
+	 * @param size the page size
+	 * @return the page
+	 */
+	static RecentVisits of(List<Visit> visits, int size) {
+		boolean more = visits.size() > size;
+		return new RecentVisits(more ? List.copyOf(visits.subList(0, size)) : List.copyOf(visits), more);
+	}
+
+	/**
+	 * The last, oldest, visit on this page, to continue from.
+	 */
+	public Visit last() {
+		return this.visits.get(this.visits.size() - 1);
+	}
+
+}
@@ -0,0 +1,56 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * The visit schedule of a range of days, today by default, a page at a time.
+ */
+@Controller
+class ScheduleController {
+
+	private final VisitRepository visits;
+
+	private final Clock clock;
+
+	@Value("${petclinic.schedule.page-size:50}")
+	private int pageSize;
+
+	public ScheduleController(VisitRepository visits, Clock clock) {
+		this.visits = visits;
+		this.clock = clock;
+	}
+
+	@GetMapping("/visits/schedule")
+	public String showSchedule(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+			@RequestParam(defaultValue = "0") int afterId, Model model) {
+		LocalDate first = (from != null) ? from : LocalDate.now(this.clock);
+		LocalDate last = (to != null && !to.isBefore(first)) ? to : first;
+		LocalDate after = (afterDate != null) ? afterDate : first;
+
+		List<ScheduledVisit> page = this.visits.findSchedule(first, last, after, afterId, Limit.of(pageSize + 1));
+		boolean hasNext = page.size() > pageSize;
+		List<ScheduledVisit> scheduled = hasNext ? page.subList(0, pageSize) : page;
+
+		model.addAttribute("from", first);
+		model.addAttribute("to", last);
+		model.addAttribute("scheduledVisits", scheduled);
+		if (hasNext) {
+			model.addAttribute("next", scheduled.get(scheduled.size() - 1));
+		}
+		return "visits/schedule";
+	}
+
+}
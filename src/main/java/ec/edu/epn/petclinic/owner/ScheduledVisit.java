@@ -0,0 +1,11 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * A visit on the schedule, with the pet and owner it is for. Read as a projection of a
+ * single join, so a day's schedule never loads owner or pet entities.
+ */
+public record ScheduledVisit(Integer id, LocalDate date, String description, Integer petId, String petName,
+		String petType, Integer ownerId, String ownerFirstName, String ownerLastName, String ownerTelephone) {
+}
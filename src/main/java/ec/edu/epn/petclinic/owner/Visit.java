@@ -25,6 +25,9 @@ public class Visit extends BaseEntity {
 	@NotBlank
 	private String description;
 
+	@Column(name = "pet_id", updatable = false)
+	private Integer petId;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -48,4 +51,12 @@ public class Visit extends BaseEntity {
 		this.description = description;
 	}
 
+	public Integer getPetId() {
+		return this.petId;
+	}
+
+	public void setPetId(Integer petId) {
+		this.petId = petId;
+	}
+
 }
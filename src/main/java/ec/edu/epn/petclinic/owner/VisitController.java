@@ -1,16 +1,20 @@
 package ec.edu.epn.petclinic.owner;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
-import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -20,62 +24,117 @@ import ec.edu.epn.petclinic.system.EntityNotFoundException;
 @Controller
 class VisitController {
 
-	private final OwnerRepository owners;
+	private static final String VIEWS_VISIT_CREATE_FORM = "pets/createOrUpdateVisitForm";
 
-	public VisitController(OwnerRepository owners) {
-		this.owners = owners;
+	private static final String VIEWS_VISIT_HISTORY = "pets/visitHistory";
+
+	private final OwnerLoader ownerLoader;
+
+	private final OwnerDetailsLoader ownerDetails;
+
+	private final MissingIds missingIds;
+
+	private final VisitRepository visits;
+
+	@Value("${petclinic.visits.recent:3}")
+	private int recentVisits;
+
+	@Value("${petclinic.visits.page-size:10}")
+	private int pageSize;
+
+	public VisitController(OwnerLoader ownerLoader, OwnerDetailsLoader ownerDetails, MissingIds missingIds,
+			VisitRepository visits) {
+		this.ownerLoader = ownerLoader;
+		this.ownerDetails = ownerDetails;
+		this.missingIds = missingIds;
+		this.visits = visits;
 	}
 
 	@InitBinder
 	public void setAllowedFields(WebDataBinder dataBinder) {
-		dataBinder.setDisallowedFields("id");
+		dataBinder.setDisallowedFields("id", "petId");
 	}
 
 	/**
-	 * Called before each and every @RequestMapping annotated method. 2 goals: - Make sure
-	 * we always have fresh data - Since we do not use the session scope, make sure that
-	 * Pet object always has an id (Even though id is not part of the form fields)
-	 * @param petId
-	 * @return Pet
+	 * Puts the owner and pet shown next to the visit form into the model, with the most
+	 * recent visits of the pet. Only needed when the form is rendered, so a successful
+	 * booking never loads the owner aggregate.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param model the model to populate
 	 */
-	@ModelAttribute("visit")
-	public Visit loadPetWithVisit(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
-			Map<String, Object> model) {
-		Optional<Owner> optionalOwner = owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new EntityNotFoundException("Owner", ownerId));
+	private void populateVisitForm(int ownerId, int petId, Map<String, Object> model) {
+		populateOwnerAndPet(ownerId, petId, model);
+		model.put("recentVisits", RecentVisits.of(
+				this.visits.findByPetIdOrderByDateDescIdDesc(petId, Limit.of(recentVisits + 1)), recentVisits));
+	}
+
+	private void populateOwnerAndPet(int ownerId, int petId, Map<String, Object> model) {
+		rejectMissingPet(ownerId, petId);
+		Owner owner = this.ownerLoader.load(ownerId);
 
 		Pet pet = owner.getPet(petId);
 		if (pet == null) {
-			throw new EntityNotFoundException("Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+			throw missingPet(ownerId, petId);
 		}
 		model.put("pet", pet);
 		model.put("owner", owner);
+	}
 
-		Visit visit = new Visit();
-		pet.addVisit(visit);
-		return visit;
+	/**
+	 * Shows one page of the visit history of a pet, newest first, continuing before the
+	 * given visit when there is one.
+	 */
+	@GetMapping("/owners/{ownerId}/pets/{petId}/visits")
+	public String showVisitHistory(@PathVariable int ownerId, @PathVariable int petId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+			@RequestParam(required = false) Integer beforeId, Map<String, Object> model) {
+		populateOwnerAndPet(ownerId, petId, model);
+		Limit limit = Limit.of(pageSize + 1);
+		List<Visit> page = (beforeDate != null && beforeId != null)
+				? this.visits.findByPetIdBefore(petId, beforeDate, beforeId, limit)
+				: this.visits.findByPetIdOrderByDateDescIdDesc(petId, limit);
+		model.put("history", RecentVisits.of(page, pageSize));
+		return VIEWS_VISIT_HISTORY;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is
-	// called
 	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String initNewVisitForm() {
-		return "pets/createOrUpdateVisitForm";
+	public String initNewVisitForm(@PathVariable int ownerId, @PathVariable int petId, Map<String, Object> model) {
+		populateVisitForm(ownerId, petId, model);
+		model.put("visit", new Visit());
+		return VIEWS_VISIT_CREATE_FORM;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is
-	// called
 	@PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int petId, @Valid Visit visit,
-			BindingResult result, RedirectAttributes redirectAttributes) {
+	public String processNewVisitForm(@PathVariable int ownerId, @PathVariable int petId, @Valid Visit visit,
+			BindingResult result, Map<String, Object> model, RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
-			return "pets/createOrUpdateVisitForm";
+			populateVisitForm(ownerId, petId, model);
+			return VIEWS_VISIT_CREATE_FORM;
 		}
 
-		owner.addVisit(petId, visit);
-		this.owners.save(owner);
+		rejectMissingPet(ownerId, petId);
+		if (!this.visits.addVisit(ownerId, petId, visit)) {
+			throw missingPet(ownerId, petId);
+		}
+		this.ownerDetails.changed(ownerId);
 		redirectAttributes.addFlashAttribute("message", "Your visit has been booked");
 		return "redirect:/owners/{ownerId}";
 	}
 
+	private void rejectMissingPet(int ownerId, int petId) {
+		if (this.missingIds.isPetMissing(ownerId, petId)) {
+			throw notFound(ownerId, petId);
+		}
+	}
+
+	private EntityNotFoundException missingPet(int ownerId, int petId) {
+		this.missingIds.petMissing(ownerId, petId);
+		return notFound(ownerId, petId);
+	}
+
+	private static EntityNotFoundException notFound(int ownerId, int petId) {
+		return new EntityNotFoundException("Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+	}
+
 }
@@ -0,0 +1,157 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository class for <code>Visit</code> domain objects.
+ * <p>
+ * Visits are append-only, so they are written directly instead of being cascaded
+ * through the {@link Owner} aggregate, which would merge every pet and visit of the
+ * owner.
+ * </p>
+ * <p>
+ * Visit history is read newest first, ordered by date and id, a page at a time: the
+ * {@link Pet#getVisits() visits collection} of a pet is never loaded as a whole.
+ * </p>
+ */
+public interface VisitRepository extends Repository<Visit, Integer> {
+
+	/**
+	 * Count the {@link Pet}s with the given id that belong to the given {@link Owner}.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @return {@literal 1} if the pet belongs to the owner, {@literal 0} otherwise
+	 */
+	@Query("SELECT COUNT(pet) FROM Owner owner JOIN owner.pets pet WHERE owner.id = :ownerId AND pet.id = :petId")
+	long countPetOfOwner(@Param("ownerId") int ownerId, @Param("petId") int petId);
+
+	/**
+	 * Save a <code>Visit</code> to the data store.
+	 * @param visit the <code>Visit</code> to save
+	 * @return the saved <code>Visit</code>
+	 */
+	Visit save(Visit visit);
+
+	/**
+	 * Book a new {@link Visit} for the {@link Pet} with the given id, provided the pet
+	 * belongs to the {@link Owner} with the given id.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param visit the new visit, must not be {@literal null}
+	 * @return {@literal true} if the visit was inserted, {@literal false} if the pet
+	 * does not belong to the owner
+	 */
+	@Transactional
+	default boolean addVisit(int ownerId, int petId, Visit visit) {
+		if (countPetOfOwner(ownerId, petId) == 0) {
+			return false;
+		}
+		visit.setPetId(petId);
+		save(visit);
+		return true;
+	}
+
+	/**
+	 * Retrieve the newest {@link Visit}s of a {@link Pet}, newest first.
+	 * @param petId the id of the pet
+	 * @param limit maximum number of visits to return
+	 * @return the newest visits
+	 */
+	List<Visit> findByPetIdOrderByDateDescIdDesc(Integer petId, Limit limit);
+
+	/**
+	 * Retrieve the {@link Visit}s of a {@link Pet} older than the given position, newest
+	 * first.
+	 * <p>
+	 * This is keyset (seek) pagination: the position is the date and id of the last visit
+	 * of the previous page, so the database seeks straight to it through the
+	 * <code>(pet_id, visit_date)</code> index.
+	 * </p>
+	 * @param petId the id of the pet
+	 * @param beforeDate date of the last visit already returned
+	 * @param beforeId id of the last visit already returned
+	 * @param limit maximum number of visits to return
+	 * @return the next older visits
+	 */
+	@Query("SELECT visit FROM Visit visit WHERE visit.petId = :petId "
+			+ "AND (visit.date < :beforeDate OR (visit.date = :beforeDate AND visit.id < :beforeId)) "
+			+ "ORDER BY visit.date DESC, visit.id DESC")
+	List<Visit> findByPetIdBefore(@Param("petId") int petId, @Param("beforeDate") LocalDate beforeDate,
+			@Param("beforeId") int beforeId, Limit limit);
+
+	/**
+	 * Retrieve up to the given number of newest {@link Visit}s of each of the given
+	 * {@link Pet}s in a single statement, ordered by pet and then newest first.
+	 * <p>
+	 * The visits of each pet are numbered newest first with <code>ROW_NUMBER()</code> in
+	 * one pass over the <code>(pet_id, visit_date)</code> index, so the cost grows with the
+	 * number of visits of the pets rather than with its square.
+	 * </p>
+	 * @param petIds the ids of the pets
+	 * @param perPet maximum number of visits per pet
+	 * @return the newest visits of every pet
+	 */
+	@Query("SELECT visit FROM Visit visit WHERE visit.id IN (SELECT ranked.id FROM (SELECT newest.id AS id, "
+			+ "ROW_NUMBER() OVER (PARTITION BY newest.petId ORDER BY newest.date DESC, newest.id DESC) AS position "
+			+ "FROM Visit newest WHERE newest.petId IN :petIds) ranked WHERE ranked.position <= :perPet) "
+			+ "ORDER BY visit.petId, visit.date DESC, visit.id DESC")
+	List<Visit> findLatestByPetIdIn(@Param("petIds") Collection<Integer> petIds, @Param("perPet") long perPet);
+
+	/**
+	 * Retrieve the newest {@link Visit}s of each of the given {@link Pet}s, telling for
+	 * each pet whether it has older visits too.
+	 * @param petIds the ids of the pets
+	 * @param perPet maximum number of visits per pet
+	 * @return the recent visits by pet id; pets without visits are left out
+	 */
+	default Map<Integer, RecentVisits> findRecentByPet(Collection<Integer> petIds, int perPet) {
+		if (petIds.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, List<Visit>> byPet = new HashMap<>();
+		for (Visit visit : findLatestByPetIdIn(petIds, perPet + 1)) {
+			byPet.computeIfAbsent(visit.getPetId(), id -> new ArrayList<>()).add(visit);
+		}
+		Map<Integer, RecentVisits> recent = new HashMap<>();
+		byPet.forEach((petId, visits) -> recent.put(petId, RecentVisits.of(visits, perPet)));
+		return recent;
+	}
+
+	/**
+	 * Retrieve the {@link ScheduledVisit visits} between two dates, inclusive, with their
+	 * pet and owner, ordered by date and id and continuing after the given position.
+	 * <p>
+	 * Reads one page in a single statement that seeks through the
+	 * <code>(visit_date, id)</code> index, so its cost depends on the page size rather
+	 * than on the number of visits in the range or in the table.
+	 * </p>
+	 * @param from first day of the range
+	 * @param to last day of the range
+	 * @param afterDate date of the last visit already returned, or {@code from} for the
+	 * first page
+	 * @param afterId id of the last visit already returned, or {@literal 0} for the first
+	 * page
+	 * @param limit maximum number of visits to return
+	 * @return the scheduled visits
+	 */
+	@Query("SELECT new ec.edu.epn.petclinic.owner.ScheduledVisit(visit.id, visit.date, visit.description, "
+			+ "pet.id, pet.name, type.name, owner.id, owner.firstName, owner.lastName, owner.telephone) "
+			+ "FROM Owner owner JOIN owner.pets pet LEFT JOIN pet.type type JOIN Visit visit ON visit.petId = pet.id "
+			+ "WHERE visit.date BETWEEN :from AND :to "
+			+ "AND (visit.date > :afterDate OR (visit.date = :afterDate AND visit.id > :afterId)) "
+			+ "ORDER BY visit.date, visit.id")
+	List<ScheduledVisit> findSchedule(@Param("from") LocalDate from, @Param("to") LocalDate to,
+			@Param("afterDate") LocalDate afterDate, @Param("afterId") int afterId, Limit limit);
+
+}
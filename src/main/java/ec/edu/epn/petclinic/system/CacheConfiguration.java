@@ -1,39 +1,134 @@
 
-
 package ec.edu.epn.petclinic.system;
 
-import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import javax.cache.configuration.MutableConfiguration;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * Cache configuration. The application caches are Caffeine caches, each configured by
+ * its own {@link CacheSpecification} in <code>petclinic.cache.specs.&lt;name&gt;</code>,
+ * for example:
+ *
+ * <pre class="code">
+ * petclinic.cache.specs.vets.maximum-size=1
+ * petclinic.cache.specs.vets.expire-after-write=10m
+ * </pre>
+ *
+ * Caches without a specification use <code>spring.cache.caffeine.spec</code>. Every
+ * configured cache records statistics, which are published as <code>cache.*</code>
+ * metrics tagged with the cache name. A cache that refreshes after write needs a
+ * {@link CacheLoader} bean named <code>&lt;name&gt;CacheLoader</code> to reload the
+ * entries with. The loader is only looked up on the first load: loaders typically use
+ * repositories, whose entity manager factory needs the cache manager built here.
+ * <p>
+ * The Hibernate second-level cache is served by the JCache API (with Caffeine as the
+ * provider), so the entity, collection and query regions are created here as well, each
+ * bounded by its own {@link CacheSpecification} in
+ * <code>petclinic.cache.regions.&lt;name&gt;</code>:
+ *
+ * <pre class="code">
+ * petclinic.cache.regions.petTypes.maximum-size=100
+ * petclinic.cache.regions.petTypes.expire-after-write=1h
+ * </pre>
+ *
+ * Every region needs a specification, so that none grows without bound.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
 class CacheConfiguration {
 
+	private static final String HIBERNATE_CACHE_MANAGER = "hibernate.javax.cache.cache_manager";
+
+	private static final String[] HIBERNATE_REGIONS = { "petTypes", "specialties", "vetSpecialties",
+			"default-query-results-region", "default-update-timestamps-region" };
+
+	private static final String CACHE_LOADER_SUFFIX = "CacheLoader";
+
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public CacheManagerCustomizer<CaffeineCacheManager> petclinicCacheSpecsCustomizer(Environment environment,
+			BeanFactory beanFactory) {
+		Map<String, CacheSpecification> specs = Binder.get(environment)
+			.bind("petclinic.cache.specs", Bindable.mapOf(String.class, CacheSpecification.class))
+			.orElse(Map.of());
+		return cm -> {
+			// a loader only serves the cache it is named after, while Spring Boot makes a
+			// single CacheLoader bean the loader of every cache without a specification
+			cm.setCacheLoader(null);
+			specs.forEach((name, spec) -> register(cm, beanFactory, name, spec));
+		};
+	}
+
+	private static void register(CaffeineCacheManager cm, BeanFactory beanFactory, String name,
+			CacheSpecification spec) {
+		Caffeine<Object, Object> builder = spec.toCaffeine(name);
+		if (spec.refreshes()) {
+			cm.registerCustomCache(name, builder.build(loader(beanFactory, name)));
+		}
+		else {
+			cm.registerCustomCache(name, builder.build());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CacheLoader<Object, Object> loader(BeanFactory beanFactory, String cacheName) {
+		String loaderName = cacheName + CACHE_LOADER_SUFFIX;
+		if (!beanFactory.containsBean(loaderName)) {
+			throw new IllegalStateException("Cache '" + cacheName + "' refreshes after write but there is no "
+					+ CacheLoader.class.getSimpleName() + " bean named '" + loaderName + "'");
+		}
+		return key -> beanFactory.getBean(loaderName, CacheLoader.class).load(key);
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
-	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * A cache manager of this application context only. The caching provider hands out
+	 * one manager per URI and class loader, and its default one is shared by every
+	 * context started in the same JVM (tests, for example), which would keep the regions
+	 * of whichever context created them first, whatever this context's specifications say.
+	 * Since no other context uses it, the manager is closed, and its regions with it, when
+	 * this context shuts down.
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	@Bean(destroyMethod = "close")
+	public CacheManager jCacheManager(Environment environment) {
+		Map<String, CacheSpecification> specs = Binder.get(environment)
+			.bind("petclinic.cache.regions", Bindable.mapOf(String.class, CacheSpecification.class))
+			.orElse(Map.of());
+		for (String region : HIBERNATE_REGIONS) {
+			if (!specs.containsKey(region)) {
+				throw new IllegalStateException(
+						"Hibernate region '" + region + "' needs petclinic.cache.regions." + region + ".maximum-size");
+			}
+		}
+		CacheManager cm = Caching.getCachingProvider()
+			.getCacheManager(URI.create("petclinic:" + UUID.randomUUID()), CacheConfiguration.class.getClassLoader());
+		for (String region : HIBERNATE_REGIONS) {
+			cm.createCache(region, specs.get(region).toJCache(region));
+		}
+		return cm;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer petclinicSecondLevelCacheCustomizer(ObjectProvider<CacheManager> cacheManager) {
+		return properties -> cacheManager
+			.ifAvailable(cm -> properties.put(HIBERNATE_CACHE_MANAGER, cm));
 	}
 
 }
@@ -0,0 +1,102 @@
+package ec.edu.epn.petclinic.system;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.OptionalLong;
+
+import org.springframework.data.domain.Slice;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+/**
+ * The bounds and expiry of one cache, bound from
+ * <code>petclinic.cache.specs.&lt;name&gt;</code>, or of one Hibernate second-level cache
+ * region, bound from <code>petclinic.cache.regions.&lt;name&gt;</code>. Every cache must
+ * be bounded, either by a maximum number of entries or by a maximum weight, where
+ * collections and pages weigh their number of elements. Regions hold Hibernate's own
+ * entries and are never reloaded, so they are bounded by size and do not refresh.
+ *
+ * @param maximumSize the maximum number of entries
+ * @param maximumWeight the maximum total weight of the entries
+ * @param expireAfterWrite how long an entry is kept after it was written
+ * @param expireAfterAccess how long an entry is kept after it was last read
+ * @param refreshAfterWrite how long after it was written an entry is reloaded in the
+ * background on its next read
+ */
+record CacheSpecification(Long maximumSize, Long maximumWeight, Duration expireAfterWrite,
+		Duration expireAfterAccess, Duration refreshAfterWrite) {
+
+	/**
+	 * Whether entries are reloaded after write, which needs a loader.
+	 */
+	boolean refreshes() {
+		return this.refreshAfterWrite != null;
+	}
+
+	/**
+	 * Create a builder for a cache with this specification that records statistics.
+	 * @param name the name of the cache, for error messages
+	 * @return the builder
+	 * @throws IllegalStateException if the specification does not bound the cache
+	 */
+	Caffeine<Object, Object> toCaffeine(String name) {
+		if ((this.maximumSize == null) == (this.maximumWeight == null)) {
+			throw new IllegalStateException(
+					"Cache '" + name + "' needs exactly one of maximum-size and maximum-weight");
+		}
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+		if (this.maximumSize != null) {
+			builder.maximumSize(this.maximumSize);
+		}
+		else {
+			builder.maximumWeight(this.maximumWeight).weigher((key, value) -> weight(value));
+		}
+		if (this.expireAfterWrite != null) {
+			builder.expireAfterWrite(this.expireAfterWrite);
+		}
+		if (this.expireAfterAccess != null) {
+			builder.expireAfterAccess(this.expireAfterAccess);
+		}
+		if (this.refreshAfterWrite != null) {
+			builder.refreshAfterWrite(this.refreshAfterWrite);
+		}
+		return builder;
+	}
+
+	/**
+	 * Create the JCache configuration of a Hibernate region with this specification,
+	 * which records statistics.
+	 * @param name the name of the region, for error messages
+	 * @return the configuration
+	 * @throws IllegalStateException if the specification does not bound the region by
+	 * size, or refreshes
+	 */
+	CaffeineConfiguration<Object, Object> toJCache(String name) {
+		if (this.maximumSize == null || this.maximumWeight != null || this.refreshAfterWrite != null) {
+			throw new IllegalStateException(
+					"Region '" + name + "' needs a maximum-size and supports neither maximum-weight nor refresh-after-write");
+		}
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(this.maximumSize));
+		configuration.setExpireAfterWrite(nanos(this.expireAfterWrite));
+		configuration.setExpireAfterAccess(nanos(this.expireAfterAccess));
+		configuration.setStatisticsEnabled(true);
+		return configuration;
+	}
+
+	private static OptionalLong nanos(Duration duration) {
+		return (duration != null) ? OptionalLong.of(duration.toNanos()) : OptionalLong.empty();
+	}
+
+	private static int weight(Object value) {
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		if (value instanceof Slice<?> slice) {
+			return Math.max(1, slice.getNumberOfElements());
+		}
+		return 1;
+	}
+
+}
@@ -0,0 +1,39 @@
+package ec.edu.epn.petclinic.system;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+/**
+ * Conditional GET for pages whose content is determined by the version of the entities
+ * they show. The version becomes the <code>ETag</code> of the page, so a browser or proxy
+ * that already has the page gets a <code>304 Not Modified</code> and the handler returns
+ * before loading or rendering anything.
+ * <p>
+ * Pages are rendered in the visitor's language, so the locale is part of the tag. A
+ * request that carries flash attributes always gets the full page, since the page shows
+ * the flash message only once.
+ * </p>
+ */
+public final class ConditionalGet {
+
+	private ConditionalGet() {
+	}
+
+	/**
+	 * Set the <code>ETag</code> of the page to the given version and check it against the
+	 * <code>If-None-Match</code> header of the request. If this returns {@literal true}
+	 * the response is a <code>304</code> and the handler should return {@literal null}.
+	 * @param request the current request
+	 * @param version the version of the content of the page
+	 * @return whether the client's copy of the page is up to date
+	 */
+	public static boolean notModified(ServletWebRequest request, String version) {
+		if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(request.getRequest()))) {
+			return false;
+		}
+		return request.checkNotModified(version + "-" + LocaleContextHolder.getLocale().toLanguageTag());
+	}
+
+}
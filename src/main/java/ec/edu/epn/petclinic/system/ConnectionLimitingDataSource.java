@@ -0,0 +1,118 @@
+package ec.edu.epn.petclinic.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} that lets at most a fixed number of threads hold a connection at
+ * the same time. The others wait, in arrival order, for a connection to be closed, or
+ * fail like the pool would once the timeout has passed.
+ */
+class ConnectionLimitingDataSource extends DelegatingDataSource implements Closeable {
+
+	private final Semaphore permits;
+
+	private final long timeoutMillis;
+
+	ConnectionLimitingDataSource(DataSource target, int maxConnections, long timeoutMillis) {
+		super(target);
+		this.permits = new Semaphore(maxConnections, true);
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return limited(() -> obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return limited(() -> obtainTargetDataSource().getConnection(username, password));
+	}
+
+	/**
+	 * Close the wrapped pool along with the application context.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (obtainTargetDataSource() instanceof Closeable pool) {
+			pool.close();
+		}
+	}
+
+	int availablePermits() {
+		return this.permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!this.permits.tryAcquire(this.timeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException(
+						"No database connection available within " + this.timeoutMillis + "ms");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+		}
+	}
+
+	/**
+	 * Return the connection with a <code>close()</code> that gives the permit back,
+	 * once, however often it is called.
+	 */
+	private Connection limited(ConnectionSupplier supplier) throws SQLException {
+		Connection target;
+		try {
+			target = supplier.get();
+		}
+		catch (SQLException | RuntimeException ex) {
+			this.permits.release();
+			throw ex;
+		}
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(ConnectionLimitingDataSource.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					if (method.getName().equals("close")) {
+						if (!released.compareAndSet(false, true)) {
+							return null;
+						}
+						try {
+							target.close();
+						}
+						finally {
+							this.permits.release();
+						}
+						return null;
+					}
+					try {
+						return method.invoke(target, args);
+					}
+					catch (InvocationTargetException ex) {
+						throw ex.getTargetException();
+					}
+				});
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		Connection get() throws SQLException;
+
+	}
+
+}
@@ -0,0 +1,169 @@
+package ec.edu.epn.petclinic.system;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps flash attributes in a short-lived cookie instead of the HTTP session, so a
+ * redirect after a form post does not create a session.
+ * <p>
+ * Only plain values (text, numbers and booleans) are kept, and they come back as strings.
+ * The cookie is readable by its owner and can be forged by them, so flash attributes must
+ * only carry messages that are shown back to the same visitor.
+ * </p>
+ */
+class CookieFlashMapManager extends AbstractFlashMapManager {
+
+	static final String COOKIE_NAME = "petclinic-flash";
+
+	private static final Logger logger = LoggerFactory.getLogger(CookieFlashMapManager.class);
+
+	/** Browsers ignore cookies larger than this, name and attributes included. */
+	private static final int MAX_COOKIE_SIZE = 4000;
+
+	private static final String FLASH_MAPS_ATTRIBUTE = CookieFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+	private static final String PATH = "path";
+
+	private static final String EXPIRES = "expires";
+
+	private static final String PARAM_PREFIX = "p.";
+
+	private static final String ATTRIBUTE_PREFIX = "a.";
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+		// maps updated earlier in this request win over the ones the browser sent
+		Object updated = request.getAttribute(FLASH_MAPS_ATTRIBUTE);
+		if (updated != null) {
+			return (List<FlashMap>) updated;
+		}
+		Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+		if (cookie == null || !StringUtils.hasText(cookie.getValue())) {
+			return null;
+		}
+		try {
+			return decode(cookie.getValue());
+		}
+		catch (IllegalArgumentException ex) {
+			logger.debug("Ignoring malformed flash cookie", ex);
+			return null;
+		}
+	}
+
+	@Override
+	protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request,
+			HttpServletResponse response) {
+		request.setAttribute(FLASH_MAPS_ATTRIBUTE, flashMaps);
+		String value = flashMaps.isEmpty() ? "" : encode(flashMaps);
+		if (value.length() > MAX_COOKIE_SIZE) {
+			logger.warn("Dropping flash attributes, they need {} bytes in a cookie", value.length());
+			value = "";
+		}
+		String path = StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/";
+		ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+			.path(path)
+			.maxAge(value.isEmpty() ? Duration.ZERO : Duration.ofSeconds(getFlashMapTimeout()))
+			.httpOnly(true)
+			.secure(request.isSecure())
+			.sameSite("Lax")
+			.build();
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+	}
+
+	/**
+	 * Cookies belong to one browser, so there is nothing to guard across requests.
+	 */
+	@Override
+	protected Object getFlashMapsMutex(HttpServletRequest request) {
+		return null;
+	}
+
+	static String encode(List<FlashMap> flashMaps) {
+		StringBuilder text = new StringBuilder();
+		for (FlashMap flashMap : flashMaps) {
+			if (!text.isEmpty()) {
+				text.append('\n');
+			}
+			StringBuilder line = new StringBuilder();
+			append(line, EXPIRES, Long.toString(flashMap.getExpirationTime()));
+			if (flashMap.getTargetRequestPath() != null) {
+				append(line, PATH, flashMap.getTargetRequestPath());
+			}
+			flashMap.getTargetRequestParams()
+				.forEach((name, values) -> values.forEach(value -> append(line, PARAM_PREFIX + name, value)));
+			for (Map.Entry<String, Object> attribute : flashMap.entrySet()) {
+				Object value = attribute.getValue();
+				if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+					append(line, ATTRIBUTE_PREFIX + attribute.getKey(), value.toString());
+				}
+				else if (value != null) {
+					logger.warn("Flash attribute '{}' of type {} cannot be kept in a cookie", attribute.getKey(),
+							value.getClass().getName());
+				}
+			}
+			text.append(line);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	static List<FlashMap> decode(String value) {
+		String text = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+		List<FlashMap> flashMaps = new ArrayList<>();
+		for (String line : text.split("\n")) {
+			FlashMap flashMap = new FlashMap();
+			for (String pair : line.split("&")) {
+				int separator = pair.indexOf('=');
+				if (separator < 0) {
+					throw new IllegalArgumentException("Malformed flash entry: " + pair);
+				}
+				String name = URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8);
+				String entry = URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+				if (name.equals(EXPIRES)) {
+					flashMap.setExpirationTime(Long.parseLong(entry));
+				}
+				else if (name.equals(PATH)) {
+					flashMap.setTargetRequestPath(entry);
+				}
+				else if (name.startsWith(PARAM_PREFIX)) {
+					flashMap.addTargetRequestParam(name.substring(PARAM_PREFIX.length()), entry);
+				}
+				else if (name.startsWith(ATTRIBUTE_PREFIX)) {
+					flashMap.put(name.substring(ATTRIBUTE_PREFIX.length()), entry);
+				}
+			}
+			flashMaps.add(flashMap);
+		}
+		return flashMaps;
+	}
+
+	private static void append(StringBuilder line, String name, String value) {
+		if (!line.isEmpty()) {
+			line.append('&');
+		}
+		line.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+			.append('=')
+			.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+	}
+
+}
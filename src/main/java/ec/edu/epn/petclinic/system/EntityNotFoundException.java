@@ -6,15 +6,18 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 /**
  * Runtime exception to indicate that an entity was not found.
  * Mapped to HTTP 404 when thrown from a controller.
+ * <p>
+ * Unknown ids are requested all the time, so the exception carries no stack trace:
+ * it is expected, and filling one in would cost more than the 404 itself.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class EntityNotFoundException extends RuntimeException {
 
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EntityNotFoundException(String entityName, Object id) {
-        super(entityName + " not found with id: " + id);
+        this(entityName + " not found with id: " + id);
     }
 }
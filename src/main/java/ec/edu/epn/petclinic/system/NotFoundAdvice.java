@@ -0,0 +1,39 @@
+package ec.edu.epn.petclinic.system;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Renders the error page for an {@link EntityNotFoundException} straight from the
+ * failed request. Without it the status is sent as a servlet error, which dispatches a
+ * second request to <code>/error</code> just to render the same page. The
+ * <code>error</code> view and its template are resolved once and then cached, like every
+ * other view. Every 404 served this way is counted as
+ * <code>petclinic.notfound</code>.
+ */
+@ControllerAdvice
+class NotFoundAdvice {
+
+	private final Counter notFound;
+
+	NotFoundAdvice(MeterRegistry registry) {
+		this.notFound = Counter.builder("petclinic.notfound")
+			.description("Requests answered with 404 because an entity does not exist")
+			.register(registry);
+	}
+
+	@ExceptionHandler(EntityNotFoundException.class)
+	public ModelAndView handleNotFound(EntityNotFoundException ex) {
+		this.notFound.increment();
+		ModelAndView mav = new ModelAndView("error", HttpStatus.NOT_FOUND);
+		mav.addObject("status", HttpStatus.NOT_FOUND.value());
+		mav.addObject("message", ex.getMessage());
+		return mav;
+	}
+
+}
@@ -0,0 +1,51 @@
+package ec.edu.epn.petclinic.system;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica data sources, in turn,
+ * and everything else to the primary.
+ * <p>
+ * The transaction's read-only flag is only known once the transaction has started, so
+ * this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} which defers
+ * fetching the connection until the first statement.
+ * </p>
+ */
+class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final String PRIMARY = "primary";
+
+	private final int replicaCount;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	ReadOnlyRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			targets.put(i, replicas.get(i));
+		}
+		this.replicaCount = replicas.size();
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (this.replicaCount == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		return Math.floorMod(this.next.getAndIncrement(), this.replicaCount);
+	}
+
+}
@@ -0,0 +1,141 @@
+package ec.edu.epn.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to read replicas when
+ * <code>petclinic.datasource.replicas[n].url</code> (with optional
+ * <code>username</code> and <code>password</code>) are configured. Writes, and reads
+ * outside read-only transactions, keep using the primary <code>spring.datasource</code>.
+ * <p>
+ * Replicas are usually updated asynchronously, so a page read right after a write may
+ * not show it yet.
+ * </p>
+ * <p>
+ * The replica pools are not beans of their own, and the wrapped primary no longer exposes
+ * the <code>close()</code> Spring would infer, so all pools are closed when the
+ * <code>dataSource</code> bean is destroyed.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("petclinic.datasource.replicas[0].url")
+class ReplicaRoutingConfiguration {
+
+	@Bean
+	static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+		List<Replica> replicas = Binder.get(environment)
+			.bind("petclinic.datasource.replicas", Bindable.listOf(Replica.class))
+			.orElse(List.of());
+		return new RoutingPostProcessor(replicas);
+	}
+
+	/**
+	 * Wraps the <code>dataSource</code> bean in a routing data source over the replicas,
+	 * and closes the primary and replica pools when it is destroyed.
+	 */
+	static class RoutingPostProcessor implements DestructionAwareBeanPostProcessor {
+
+		private static final Logger logger = LoggerFactory.getLogger(RoutingPostProcessor.class);
+
+		private final List<Replica> replicas;
+
+		private final List<DataSource> pools = new ArrayList<>();
+
+		RoutingPostProcessor(List<Replica> replicas) {
+			this.replicas = replicas;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+				return bean;
+			}
+			List<DataSource> replicaDataSources = this.replicas.stream().map(Replica::build).toList();
+			this.pools.add(primary);
+			this.pools.addAll(replicaDataSources);
+			return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replicaDataSources));
+		}
+
+		@Override
+		public boolean requiresDestruction(Object bean) {
+			return bean instanceof LazyConnectionDataSourceProxy;
+		}
+
+		@Override
+		public void postProcessBeforeDestruction(Object bean, String beanName) {
+			if (!"dataSource".equals(beanName)) {
+				return;
+			}
+			for (DataSource pool : this.pools) {
+				if (pool instanceof AutoCloseable closeable) {
+					try {
+						closeable.close();
+					}
+					catch (Exception ex) {
+						logger.warn("Could not close data source {}", pool, ex);
+					}
+				}
+			}
+			this.pools.clear();
+		}
+
+	}
+
+	/**
+	 * Connection settings of one read replica.
+	 */
+	static class Replica {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+
+		public String getUrl() {
+			return this.url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public String getUsername() {
+			return this.username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return this.password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+		DataSource build() {
+			return DataSourceBuilder.create().url(this.url).username(this.username).password(this.password).build();
+		}
+
+	}
+
+}
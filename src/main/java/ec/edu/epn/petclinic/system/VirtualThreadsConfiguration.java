@@ -0,0 +1,54 @@
+package ec.edu.epn.petclinic.system;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Virtual thread mode, enabled with <code>spring.threads.virtual.enabled=true</code> on
+ * Java 21 or later. Spring Boot then runs request handling, <code>@Async</code> work and
+ * scheduled tasks on virtual threads, so a request blocked on JDBC no longer holds one
+ * of a few hundred platform threads.
+ * <p>
+ * Nothing limits the number of virtual threads any more, so the connection pool becomes
+ * the bottleneck instead: the data source is wrapped to let in only as many threads as
+ * the pool has connections, while the rest wait in order instead of piling up inside
+ * the pool.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+class VirtualThreadsConfiguration {
+
+	@Bean
+	static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+		return new ConnectionLimitingPostProcessor();
+	}
+
+	/**
+	 * Runs before the other post processors, replica routing for example, so it still
+	 * sees the pool itself.
+	 */
+	static class ConnectionLimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource pool)) {
+				return bean;
+			}
+			return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+}
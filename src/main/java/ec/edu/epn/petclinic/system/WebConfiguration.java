@@ -2,13 +2,21 @@ package ec.edu.epn.petclinic.system;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
-import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.Enumeration;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Configures internationalization (i18n) support for the application.
@@ -17,24 +25,60 @@ import java.util.Locale;
  * Handles loading language-specific messages, tracking the user's language, and allowing
  * language changes via the URL parameter (e.g., <code>?lang=de</code>).
  * </p>
+ * <p>
+ * Nothing here needs an HTTP session: the language and flash messages both live in
+ * cookies, so anonymous visitors do not hold any state on the server.
+ * </p>
  *
  */
 @Configuration
 @SuppressWarnings("unused")
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private static final String LOCALE_COOKIE = "petclinic-locale";
+
+	/** Languages there is a message bundle for. */
+	private static final Set<String> SUPPORTED_LANGUAGES = Set.of("en", "de", "es", "fa", "ko", "pt", "ru", "tr");
+
 	/**
-	 * Uses session storage to remember the user’s language setting across requests.
-	 * Defaults to English if nothing is specified.
-	 * @return session-based {@link LocaleResolver}
+	 * Uses a cookie to remember the user’s language setting across requests. Without the
+	 * cookie the browser's <code>Accept-Language</code> is used if there are messages for
+	 * it, and English otherwise.
+	 * @return cookie-based {@link LocaleResolver}
 	 */
 	@Bean
 	public LocaleResolver localeResolver() {
-		SessionLocaleResolver resolver = new SessionLocaleResolver();
-		resolver.setDefaultLocale(Locale.ENGLISH);
+		CookieLocaleResolver resolver = new CookieLocaleResolver(LOCALE_COOKIE);
+		resolver.setCookieMaxAge(Duration.ofDays(365));
+		resolver.setCookieSameSite("Lax");
+		resolver.setDefaultLocaleFunction(WebConfiguration::acceptedLocale);
 		return resolver;
 	}
 
+	private static Locale acceptedLocale(HttpServletRequest request) {
+		if (request.getHeader(HttpHeaders.ACCEPT_LANGUAGE) == null) {
+			return Locale.ENGLISH;
+		}
+		// in order of preference
+		Enumeration<Locale> requested = request.getLocales();
+		while (requested.hasMoreElements()) {
+			Locale locale = requested.nextElement();
+			if (SUPPORTED_LANGUAGES.contains(locale.getLanguage())) {
+				return locale;
+			}
+		}
+		return Locale.ENGLISH;
+	}
+
+	/**
+	 * Keeps flash attributes in a cookie rather than the session.
+	 * @return cookie-based {@link FlashMapManager}
+	 */
+	@Bean(DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+	public FlashMapManager flashMapManager() {
+		return new CookieFlashMapManager();
+	}
+
 	/**
 	 * Allows the app to switch languages using a URL parameter like
 	 * <code>?lang=es</code>.
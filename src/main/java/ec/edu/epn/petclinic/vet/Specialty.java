@@ -1,17 +1,25 @@
-
 package ec.edu.epn.petclinic.vet;
 
 import ec.edu.epn.petclinic.model.NamedEntity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 
 /**
- * Models a {@link Vet Vet's} specialty (for example, dentistry).
+ * Models a {@link Vet Vet's} specialty (for example, dentistry). Specialties are kept in
+ * the <code>specialties</code> second-level cache region.
  *
  */
 @Entity
 @Table(name = "specialties")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specialties")
+@EntityListeners(VetCacheListener.class)
 public class Specialty extends NamedEntity {
 
 }
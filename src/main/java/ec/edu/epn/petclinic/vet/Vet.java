@@ -4,30 +4,47 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import ec.edu.epn.petclinic.model.NamedEntity;
 import ec.edu.epn.petclinic.model.Person;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.xml.bind.annotation.XmlElement;
 
 /**
  * Simple JavaBean domain object representing a veterinarian.
+ * <p>
+ * Specialties are loaded lazily; {@link VetRepository} fetches them together with the
+ * vets. The sorted list handed out by {@link #getSpecialties()} is built once and shared
+ * by every caller until a specialty is added.
+ * <p>
+ * The version is raised by every update, including changes to the specialties, and
+ * serves as the validator of the vet pages.
  */
 @Entity
 @Table(name = "vets")
+@EntityListeners(VetCacheListener.class)
 public class Vet extends Person {
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vetSpecialties")
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"), inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private Set<Specialty> specialties;
 
+	private transient List<Specialty> sortedSpecialties;
+
+	@Version
+	private int version;
+
 	protected Set<Specialty> getSpecialtiesInternal() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
@@ -35,11 +52,21 @@ public class Vet extends Person {
 		return this.specialties;
 	}
 
+	/**
+	 * @return the specialties sorted by name, as an unmodifiable list
+	 */
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-				.sorted(Comparator.comparing(NamedEntity::getName))
-				.collect(Collectors.toList());
+		List<Specialty> sorted = this.sortedSpecialties;
+		if (sorted == null) {
+			sorted = getSpecialtiesInternal().stream().sorted(Comparator.comparing(NamedEntity::getName)).toList();
+			this.sortedSpecialties = sorted;
+		}
+		return sorted;
+	}
+
+	int getVersion() {
+		return this.version;
 	}
 
 	public int getNrOfSpecialties() {
@@ -48,6 +75,7 @@ public class Vet extends Person {
 
 	public void addSpecialty(Specialty specialty) {
 		getSpecialtiesInternal().add(specialty);
+		this.sortedSpecialties = null;
 	}
 
 }
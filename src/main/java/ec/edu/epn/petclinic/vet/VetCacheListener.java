@@ -0,0 +1,59 @@
+package ec.edu.epn.petclinic.vet;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that clears the cached vet list and vet pages once a written
+ * {@link Vet} or {@link Specialty} has committed. Clearing earlier would let a
+ * concurrent request cache the old rows again before the new ones are visible. Hibernate
+ * obtains it from the Spring bean factory; the cache manager is resolved lazily because
+ * listeners are created while the persistence unit starts.
+ */
+class VetCacheListener {
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	VetCacheListener(ObjectProvider<CacheManager> cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void vetsChanged(Object entity) {
+		afterCommit(() -> this.cacheManager.ifAvailable(manager -> {
+			clear(manager, "vets");
+			clear(manager, "vetPages");
+		}));
+	}
+
+	private static void clear(CacheManager manager, String name) {
+		Cache cache = manager.getCache(name);
+		if (cache != null) {
+			cache.invalidate();
+		}
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+		else {
+			action.run();
+		}
+	}
+
+}
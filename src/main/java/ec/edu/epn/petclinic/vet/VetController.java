@@ -1,21 +1,40 @@
 package ec.edu.epn.petclinic.vet;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import ec.edu.epn.petclinic.system.ConditionalGet;
 
+/**
+ * The vet list, as a paginated page and as a resource. Both carry an <code>ETag</code>
+ * built from the versions of the vets they show and the names of their specialties,
+ * taken from the cached vets, so an unchanged list is answered with
+ * <code>304 Not Modified</code> without being rendered. The resource is served as JSON
+ * or XML, so its tag also names the negotiated media type and its responses vary by
+ * <code>Accept</code>.
+ */
 @Controller
 class VetController {
 
+	private static final List<MediaType> RESOURCE_TYPES = List.of(MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML);
+
 	private final VetRepository vetRepository;
 
 	@Value("${petclinic.pagination.size:5}")
@@ -26,11 +45,16 @@ class VetController {
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
+	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model, ServletWebRequest request) {
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for Object-Xml mapping
 		Vets vets = new Vets();
 		Page<Vet> paginated = findPaginated(page);
+		// the page also shows the number of vets, which a new vet elsewhere changes
+		if (ConditionalGet.notModified(request,
+				"vets-" + page + "-" + paginated.getTotalElements() + "-" + version(paginated.getContent()))) {
+			return null;
+		}
 		vets.getVetList().addAll(paginated.toList());
 		return addPaginationModel(page, paginated, model);
 	}
@@ -49,13 +73,60 @@ class VetController {
 		return vetRepository.findAll(pageable);
 	}
 
-	@GetMapping({ "/vets" })
-	public @ResponseBody Vets showResourcesVetList() {
+	@GetMapping(path = "/vets", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+	public @ResponseBody Vets showResourcesVetList(ServletWebRequest request) {
+		Collection<Vet> all = this.vetRepository.findAll();
+		request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		if (request.checkNotModified("vets-" + negotiate(request).getSubtype() + "-" + version(all))) {
+			return null;
+		}
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for JSon/Object mapping
 		Vets vets = new Vets();
-		vets.getVetList().addAll(this.vetRepository.findAll());
+		vets.getVetList().addAll(all);
 		return vets;
 	}
 
+	/**
+	 * Pick the media type the resource will be written as, the way Spring MVC picks it:
+	 * the first of {@link #RESOURCE_TYPES} compatible with the most specific, most
+	 * preferred accepted type, and JSON if the request accepts anything.
+	 */
+	private static MediaType negotiate(ServletWebRequest request) {
+		List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+		MimeTypeUtils.sortBySpecificity(accepted);
+		for (MediaType type : accepted) {
+			if (type.getQualityValue() == 0) {
+				continue;
+			}
+			for (MediaType producible : RESOURCE_TYPES) {
+				if (type.isCompatibleWith(producible)) {
+					return producible;
+				}
+			}
+		}
+		return MediaType.APPLICATION_JSON;
+	}
+
+	/**
+	 * Summarize the versions of the given vets. Every update raises the sum of their
+	 * versions, every new vet has a higher id than the existing ones and every removal
+	 * lowers the count, so any change to the vets changes the result. Specialties are
+	 * versioned apart from the vets, so the names of the specialties shown are hashed in
+	 * as well; {@link VetCacheListener} clears the cached vets when one is written.
+	 */
+	private static String version(Collection<Vet> vets) {
+		int maxId = 0;
+		long versions = 0;
+		int specialties = 1;
+		for (Vet vet : vets) {
+			maxId = Math.max(maxId, vet.getId());
+			versions += vet.getVersion();
+			for (Specialty specialty : vet.getSpecialties()) {
+				specialties = 31 * specialties + Objects.hash(specialty.getId(), specialty.getName());
+			}
+		}
+		return vets.size() + "-" + maxId + "-" + versions + "-" + Integer.toHexString(specialties);
+	}
+
 }
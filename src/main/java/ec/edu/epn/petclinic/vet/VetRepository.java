@@ -4,11 +4,19 @@ package ec.edu.epn.petclinic.vet;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Repository class for <code>Vet</code> domain objects All method names are compliant
@@ -19,21 +27,81 @@ import java.util.Collection;
 public interface VetRepository extends Repository<Vet, Integer> {
 
 	/**
-	 * Retrieve all <code>Vet</code>s from the data store.
+	 * Retrieve all <code>Vet</code>s with their specialties from the data store, in a
+	 * single join query. Concurrent misses wait for one load instead of each running the
+	 * query, and {@link VetsCacheLoader} reloads the cached list before it expires.
 	 * @return a <code>Collection</code> of <code>Vet</code>s
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
-	Collection<Vet> findAll() throws DataAccessException;
+	@Cacheable(cacheNames = "vets", sync = true)
+	default Collection<Vet> findAll() throws DataAccessException {
+		return loadAll();
+	}
 
 	/**
-	 * Retrieve all <code>Vet</code>s from data store in Pages
+	 * Retrieve all <code>Vet</code>s with their specialties from the data store, in a
+	 * single join query, bypassing the cache.
+	 * @return a <code>List</code> of <code>Vet</code>s
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(attributePaths = "specialties")
+	@Query("SELECT vet FROM Vet vet")
+	List<Vet> loadAll();
+
+	/**
+	 * Retrieve all <code>Vet</code>s with their specialties from data store in Pages.
+	 * The ids of the page are read first and the vets then loaded with one join query,
+	 * since joining the specialties into the paged query would page in memory. Each page
+	 * is cached apart from the full list, keyed by its number, size and sort, and loaded
+	 * once however many requests miss it at the same time.
 	 * @param pageable
 	 * @return
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
-	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
+	@Cacheable(cacheNames = "vetPages", key = "#p0.pageNumber + ':' + #p0.pageSize + ':' + #p0.sort",
+			condition = "#p0.paged", sync = true)
+	default Page<Vet> findAll(Pageable pageable) throws DataAccessException {
+		Page<Integer> ids = findIds(pageable);
+		Map<Integer, Vet> vets = findByIdIn(ids.getContent()).stream()
+			.collect(Collectors.toMap(Vet::getId, Function.identity()));
+		List<Vet> content = ids.getContent().stream().map(vets::get).toList();
+		return new PageImpl<>(content, pageable, ids.getTotalElements());
+	}
+
+	/**
+	 * Retrieve a page of <code>Vet</code> ids, for {@link #findAll(Pageable)}.
+	 * @param pageable the page to read
+	 * @return the ids of the <code>Vet</code>s on the page
+	 */
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT vet.id FROM Vet vet", countQuery = "SELECT COUNT(vet) FROM Vet vet")
+	Page<Integer> findIds(Pageable pageable);
+
+	/**
+	 * Retrieve the <code>Vet</code>s with the given ids, with their specialties.
+	 * @param ids the ids to search for
+	 * @return the matching <code>Vet</code>s, in no particular order
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(attributePaths = "specialties")
+	List<Vet> findByIdIn(Collection<Integer> ids);
+
+	/**
+	 * Retrieve a <code>Vet</code> from the data store by id.
+	 * @param id the id to search for
+	 * @return the <code>Vet</code> if found
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(attributePaths = "specialties")
+	Optional<Vet> findById(Integer id);
+
+	/**
+	 * Save a <code>Vet</code> to the data store. The cached vet list and pages are
+	 * cleared by {@link VetCacheListener} once the write has committed.
+	 * @param vet the <code>Vet</code> to save
+	 * @return the saved <code>Vet</code>
+	 */
+	Vet save(Vet vet);
 
 }
@@ -0,0 +1,36 @@
+package ec.edu.epn.petclinic.vet;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * Loads the <code>vets</code> cache, which holds the single list returned by
+ * {@link VetRepository#findAll()}. Its specification refreshes the list after write, so
+ * once the list is old enough the next request triggers a reload in the background and
+ * keeps being served the current list meanwhile. A hot list is therefore replaced before
+ * it expires and requests never wait for it.
+ * <p>
+ * The repository is resolved on the first load: the cache manager is built before the
+ * entity manager factory, which needs it, so the repository cannot exist yet when the
+ * loader is created.
+ * </p>
+ */
+@Component("vetsCacheLoader")
+class VetsCacheLoader implements CacheLoader<Object, Object> {
+
+	private final ObjectProvider<VetRepository> vets;
+
+	VetsCacheLoader(ObjectProvider<VetRepository> vets) {
+		this.vets = vets;
+	}
+
+	@Override
+	public List<Vet> load(Object key) {
+		return this.vets.getObject().loadAll();
+	}
+
+}
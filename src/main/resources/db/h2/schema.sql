@@ -5,12 +5,19 @@ DROP TABLE visits IF EXISTS;
 DROP TABLE pets IF EXISTS;
 DROP TABLE types IF EXISTS;
 DROP TABLE owners IF EXISTS;
+DROP SEQUENCE vets_seq IF EXISTS;
+DROP SEQUENCE specialties_seq IF EXISTS;
+DROP SEQUENCE types_seq IF EXISTS;
+DROP SEQUENCE owners_seq IF EXISTS;
+DROP SEQUENCE pets_seq IF EXISTS;
+DROP SEQUENCE visits_seq IF EXISTS;
 
 
 CREATE TABLE vets (
   id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name VARCHAR(30),
-  last_name  VARCHAR(30)
+  last_name  VARCHAR(30),
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 CREATE INDEX vets_last_name ON vets (last_name);
 
@@ -39,7 +46,8 @@ CREATE TABLE owners (
   last_name  VARCHAR_IGNORECASE(30),
   address    VARCHAR(255),
   city       VARCHAR(80),
-  telephone  VARCHAR(20)
+  telephone  VARCHAR(20),
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 CREATE INDEX owners_last_name ON owners (last_name);
 
@@ -61,4 +69,13 @@ CREATE TABLE visits (
   description VARCHAR(255)
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
-CREATE INDEX visits_pet_id ON visits (pet_id);
+CREATE INDEX visits_pet_id_visit_date ON visits (pet_id, visit_date, id);
+CREATE INDEX visits_visit_date ON visits (visit_date, id);
+
+-- Hibernate reserves ids in blocks of 50; start above the ids used by data.sql
+CREATE SEQUENCE vets_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE specialties_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE types_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE owners_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE pets_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE visits_seq START WITH 1000 INCREMENT BY 50;
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS vets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
   last_name VARCHAR(30),
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(last_name)
 ) engine=InnoDB;
 
@@ -32,6 +33,7 @@ CREATE TABLE IF NOT EXISTS owners (
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
+  version INT(4) UNSIGNED NOT NULL DEFAULT 0,
   INDEX(last_name)
 ) engine=InnoDB;
 
@@ -51,5 +53,39 @@ CREATE TABLE IF NOT EXISTS visits (
   pet_id INT(4) UNSIGNED,
   visit_date DATE,
   description VARCHAR(255),
+  INDEX(pet_id, visit_date, id),
+  INDEX(visit_date, id),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+-- MySQL has no sequences, so Hibernate emulates them with single-row tables.
+-- Ids are reserved in blocks of 50; start above the ids used by data.sql
+CREATE TABLE IF NOT EXISTS vets_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO vets_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM vets_seq);
+
+CREATE TABLE IF NOT EXISTS specialties_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO specialties_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM specialties_seq);
+
+CREATE TABLE IF NOT EXISTS types_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO types_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM types_seq);
+
+CREATE TABLE IF NOT EXISTS owners_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO owners_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM owners_seq);
+
+CREATE TABLE IF NOT EXISTS pets_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO pets_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM pets_seq);
+
+CREATE TABLE IF NOT EXISTS visits_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO visits_seq (next_val) SELECT 1000 FROM DUAL WHERE NOT EXISTS (SELECT * FROM visits_seq);
@@ -1,9 +1,11 @@
 package ec.edu.epn.petclinic.owner;
 
-import static org.hamcrest.Matchers.hasProperty;
-import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -15,6 +17,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,14 +25,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class OwnerControllerTest {
 
@@ -38,11 +45,21 @@ class OwnerControllerTest {
     @Mock
     private OwnerRepository ownerRepository;
 
+    @Mock
+    private OwnerDetailsLoader ownerDetailsLoader;
+
     private OwnerController ownerController;
 
+    private OwnerNameIndex ownerNameIndex;
+
+    private MissingIds missingIds;
+
     @BeforeEach
     void setup() {
-        ownerController = new OwnerController(ownerRepository);
+        missingIds = new MissingIds(new ConcurrentMapCacheManager());
+        ownerNameIndex = new OwnerNameIndex(ownerRepository, new SimpleMeterRegistry(), true);
+        OwnerLoader ownerLoader = new OwnerLoader(ownerRepository, missingIds, new SimpleMeterRegistry());
+        ownerController = new OwnerController(ownerRepository, ownerLoader, ownerDetailsLoader, ownerNameIndex);
         ReflectionTestUtils.setField(ownerController, "pageSize", 2);
         mockMvc = MockMvcBuilders.standaloneSetup(ownerController).build();
     }
@@ -50,9 +67,9 @@ class OwnerControllerTest {
     @Test
     @DisplayName("Should_redirectToOwnerDetails_When_SingleOwnerFound")
     void should_redirectToOwnerDetails_When_SingleOwnerFound() throws Exception {
-        Owner owner = buildOwner(10, "James", "Carter");
-        when(ownerRepository.findByLastNameStartingWith(any(String.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(owner), PageRequest.of(0, 2), 1));
+        OwnerSummary owner = buildSummary(10, "James", "Carter");
+        when(ownerRepository.seekByLastNameStartingWith(eq("Car"), eq(""), eq(0), any(Limit.class)))
+                .thenReturn(List.of(owner));
 
         mockMvc.perform(get("/owners").param("lastName", "Car"))
                 .andExpect(status().is3xxRedirection())
@@ -62,23 +79,103 @@ class OwnerControllerTest {
     @Test
     @DisplayName("Should_renderOwnersList_When_MultipleOwnersFound")
     void should_renderOwnersList_When_MultipleOwnersFound() throws Exception {
-        Owner owner1 = buildOwner(1, "John", "Doe");
-        Owner owner2 = buildOwner(2, "Jane", "Doe");
-        when(ownerRepository.findByLastNameStartingWith(any(String.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(owner1, owner2), PageRequest.of(0, 2), 2));
+        OwnerSummary owner1 = buildSummary(1, "John", "Doe");
+        OwnerSummary owner2 = buildSummary(2, "Jane", "Doe");
+        when(ownerRepository.seekByLastNameStartingWith(eq("Do"), eq(""), eq(0), any(Limit.class)))
+                .thenReturn(List.of(owner1, owner2));
 
         mockMvc.perform(get("/owners").param("lastName", "Do"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("owners/ownersList"))
                 .andExpect(model().attributeExists("listOwners"))
+                .andExpect(model().attributeDoesNotExist("nextCursor"))
+                .andExpect(model().attribute("listOwners", List.of(owner1, owner2)));
+    }
+
+    @Test
+    @DisplayName("Should_seekPastCursor_When_MoreOwnersThanPageSize")
+    void should_seekPastCursor_When_MoreOwnersThanPageSize() throws Exception {
+        OwnerSummary owner1 = buildSummary(1, "John", "Doe");
+        OwnerSummary owner2 = buildSummary(2, "Jane", "Doe");
+        OwnerSummary owner3 = buildSummary(3, "Jim", "Doe");
+        when(ownerRepository.seekByLastNameStartingWith(eq("Do"), eq(""), eq(0), any(Limit.class)))
+                .thenReturn(List.of(owner1, owner2, owner3));
+        when(ownerRepository.seekByLastNameStartingWith(eq("Do"), eq("Doe"), eq(2), any(Limit.class)))
+                .thenReturn(List.of(owner3));
+
+        MvcResult first = mockMvc.perform(get("/owners").param("lastName", "Do"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("listOwners", List.of(owner1, owner2)))
+                .andExpect(model().attributeExists("nextCursor"))
+                .andReturn();
+        String nextCursor = (String) first.getModelAndView().getModel().get("nextCursor");
+
+        mockMvc.perform(get("/owners").param("lastName", "Do").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(view().name("owners/ownersList"))
+                .andExpect(model().attribute("listOwners", List.of(owner3)))
+                .andExpect(model().attributeDoesNotExist("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should_readOnlyIndexedOwners_When_NameIndexIsReady")
+    void should_readOnlyIndexedOwners_When_NameIndexIsReady() throws Exception {
+        OwnerSummary owner1 = buildSummary(1, "John", "Doe");
+        OwnerSummary owner2 = buildSummary(2, "Jane", "doe");
+        when(ownerRepository.streamNames()).thenReturn(Stream.of(new OwnerName(1, "Doe"), new OwnerName(2, "doe"),
+                new OwnerName(3, "Black")));
+        ownerNameIndex.load();
+        when(ownerRepository.findSummariesInOrder(List.of(1, 2))).thenReturn(List.of(owner1, owner2));
+
+        mockMvc.perform(get("/owners").param("lastName", "DO"))
+                .andExpect(status().isOk())
                 .andExpect(model().attribute("listOwners", List.of(owner1, owner2)));
+        verify(ownerRepository, never()).seekByLastNameStartingWith(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should_useNumberedPages_When_PageRequested")
+    void should_useNumberedPages_When_PageRequested() throws Exception {
+        ReflectionTestUtils.setField(ownerController, "countTotals", true);
+        OwnerSummary owner1 = buildSummary(1, "John", "Doe");
+        OwnerSummary owner2 = buildSummary(2, "Jane", "Doe");
+        when(ownerRepository.searchByLastNameStartingWith(eq("Do"), eq(PageRequest.of(1, 2))))
+                .thenReturn(new SliceImpl<>(List.of(owner1, owner2), PageRequest.of(1, 2), true));
+        when(ownerRepository.countByLastNameStartingWith("Do")).thenReturn(6L);
+
+        mockMvc.perform(get("/owners").param("lastName", "Do").param("page", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("owners/ownersList"))
+                .andExpect(model().attribute("currentPage", 2))
+                .andExpect(model().attribute("hasNext", true))
+                .andExpect(model().attribute("totalPages", 3))
+                .andExpect(model().attribute("listOwners", List.of(owner1, owner2)));
+    }
+
+    @Test
+    @DisplayName("Should_skipCountQuery_When_TotalsDisabled")
+    void should_skipCountQuery_When_TotalsDisabled() throws Exception {
+        ReflectionTestUtils.setField(ownerController, "countTotals", false);
+        OwnerSummary owner1 = buildSummary(1, "John", "Doe");
+        OwnerSummary owner2 = buildSummary(2, "Jane", "Doe");
+        when(ownerRepository.searchByLastNameStartingWith(eq("Do"), eq(PageRequest.of(0, 2))))
+                .thenReturn(new SliceImpl<>(List.of(owner1, owner2), PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/owners").param("lastName", "Do").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("owners/ownersList"))
+                .andExpect(model().attribute("hasNext", true))
+                .andExpect(model().attributeDoesNotExist("totalPages"));
+
+        verify(ownerRepository, never()).countByLastNameStartingWith(any(String.class));
+        verify(ownerRepository, never()).findByLastNameStartingWith(any(String.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should_showFindFormError_When_NoOwnersFound")
     void should_showFindFormError_When_NoOwnersFound() throws Exception {
-        when(ownerRepository.findByLastNameStartingWith(any(String.class), any(Pageable.class)))
-                .thenReturn(Page.empty(PageRequest.of(0, 2)));
+        when(ownerRepository.seekByLastNameStartingWith(eq("Unknown"), eq(""), eq(0), any(Limit.class)))
+                .thenReturn(List.of());
 
         mockMvc.perform(get("/owners").param("lastName", "Unknown"))
                 .andExpect(status().isOk())
@@ -122,7 +219,7 @@ class OwnerControllerTest {
     @DisplayName("Should_rejectMismatchId_When_UpdatingOwner")
     void should_rejectMismatchId_When_UpdatingOwner() throws Exception {
         Owner existingOwner = buildOwner(5, "Existing", "Owner");
-        lenient().when(ownerRepository.findById(5)).thenReturn(Optional.of(existingOwner));
+        lenient().when(ownerRepository.findDetailsById(5)).thenReturn(Optional.of(existingOwner));
 
         // Note: When id is mismatched, controller redirects to /owners/{ownerId}/edit
         // But with standaloneSetup, the owner.getId() may be null, causing redirect to
@@ -141,7 +238,7 @@ class OwnerControllerTest {
     @DisplayName("Should_updateOwner_When_DataValid")
     void should_updateOwner_When_DataValid() throws Exception {
         Owner existingOwner = buildOwner(8, "Laura", "Green");
-        when(ownerRepository.findById(8)).thenReturn(Optional.of(existingOwner));
+        when(ownerRepository.findDetailsById(8)).thenReturn(Optional.of(existingOwner));
         when(ownerRepository.save(any(Owner.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         mockMvc.perform(post("/owners/8/edit")
@@ -154,19 +251,11 @@ class OwnerControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/owners/8"))
                 .andExpect(flash().attributeExists("message"));
+        verify(ownerDetailsLoader).changed(8);
     }
 
-    @Test
-    @DisplayName("Should_showOwnerDetails_When_OwnerExists")
-    void should_showOwnerDetails_When_OwnerExists() throws Exception {
-        Owner owner = buildOwner(3, "Sam", "Blue");
-        when(ownerRepository.findById(3)).thenReturn(Optional.of(owner));
-
-        mockMvc.perform(get("/owners/3"))
-                .andExpect(status().isOk())
-                .andExpect(view().name("owners/ownerDetails"))
-                .andExpect(model().attributeExists("owner"))
-                .andExpect(model().attribute("owner", hasProperty("id", is(3))));
+    private OwnerSummary buildSummary(int id, String firstName, String lastName) {
+        return new OwnerSummary(id, firstName, lastName, "Street 1", "Quito", "1234567890", null);
     }
 
     private Owner buildOwner(int id, String firstName, String lastName) {
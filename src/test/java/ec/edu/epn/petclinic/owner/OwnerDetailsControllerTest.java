@@ -0,0 +1,112 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerDetailsControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private OwnerDetailsLoader ownerDetailsLoader;
+
+    @Mock
+    private PetTypeRepository petTypeRepository;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OwnerDetailsController(ownerDetailsLoader, petTypeRepository))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should_showOwnerDetails_When_OwnerExists")
+    void should_showOwnerDetails_When_OwnerExists() throws Exception {
+        Owner owner = new Owner();
+        owner.setId(3);
+        owner.setFirstName("Sam");
+        owner.setLastName("Blue");
+        when(ownerDetailsLoader.load(3)).thenReturn(new OwnerDetails(owner, Map.of()));
+
+        mockMvc.perform(get("/owners/3"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("owners/ownerDetails"))
+                .andExpect(model().attribute("owner", hasProperty("id", is(3))))
+                .andExpect(model().attribute("recentVisits", Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should_returnNotModifiedWithoutLoading_When_OwnerUnchangedSinceEtag")
+    void should_returnNotModifiedWithoutLoading_When_OwnerUnchangedSinceEtag() throws Exception {
+        Owner owner = new Owner();
+        owner.setId(3);
+        when(ownerDetailsLoader.version(3)).thenReturn(0);
+        when(ownerDetailsLoader.load(3)).thenReturn(new OwnerDetails(owner, Map.of()));
+        String etag = mockMvc.perform(get("/owners/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/owners/3").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(ownerDetailsLoader, times(1)).load(3);
+    }
+
+    @Test
+    @DisplayName("Should_changeEtag_When_PetTypeIsRenamed")
+    void should_changeEtag_When_PetTypeIsRenamed() throws Exception {
+        Owner owner = new Owner();
+        owner.setId(3);
+        when(ownerDetailsLoader.version(3)).thenReturn(0);
+        when(ownerDetailsLoader.load(3)).thenReturn(new OwnerDetails(owner, Map.of()));
+        when(petTypeRepository.findPetTypesVersion()).thenReturn(1, 2);
+        String etag = mockMvc.perform(get("/owners/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/owners/3").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should_reloadDetails_When_CachedDetailsAreOlderThanOwner")
+    void should_reloadDetails_When_CachedDetailsAreOlderThanOwner() throws Exception {
+        Owner stale = new Owner();
+        stale.setId(3);
+        stale.setLastName("Blue");
+        Owner current = new Owner();
+        current.setId(3);
+        current.setLastName("Green");
+        ReflectionTestUtils.setField(current, "version", 1);
+        when(ownerDetailsLoader.version(3)).thenReturn(1);
+        when(ownerDetailsLoader.load(3)).thenReturn(new OwnerDetails(stale, Map.of()),
+                new OwnerDetails(current, Map.of()));
+
+        mockMvc.perform(get("/owners/3"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("owner", hasProperty("lastName", is("Green"))));
+
+        verify(ownerDetailsLoader).evict(3);
+    }
+
+}
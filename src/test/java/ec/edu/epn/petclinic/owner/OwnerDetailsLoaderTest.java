@@ -0,0 +1,64 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+@SpringBootTest
+class OwnerDetailsLoaderTest {
+
+    // Jean Coleman owns Samantha and Max, see data.sql
+    private static final int COLEMAN = 6;
+
+    @Autowired
+    private OwnerDetailsLoader ownerDetails;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache("ownerDetails").invalidate();
+    }
+
+    @Test
+    @DisplayName("Should_serveSameDetails_When_OwnerViewedAgain")
+    void should_serveSameDetails_When_OwnerViewedAgain() {
+        OwnerDetails first = ownerDetails.load(COLEMAN);
+
+        assertThat(ownerDetails.load(COLEMAN)).isSameAs(first);
+        assertThat(first.owner().getPets()).extracting(Pet::getName).containsExactly("Max", "Samantha");
+        assertThat(first.recentVisits()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should_reloadDetails_When_OwnerWasEvicted")
+    void should_reloadDetails_When_OwnerWasEvicted() {
+        OwnerDetails first = ownerDetails.load(COLEMAN);
+
+        ownerDetails.evict(COLEMAN);
+
+        assertThat(ownerDetails.load(COLEMAN)).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should_raiseVersionAndReload_When_OwnerChanged")
+    void should_raiseVersionAndReload_When_OwnerChanged() {
+        int version = ownerDetails.version(COLEMAN);
+        OwnerDetails first = ownerDetails.load(COLEMAN);
+        assertThat(first.owner().getVersion()).isEqualTo(version);
+
+        ownerDetails.changed(COLEMAN);
+
+        assertThat(ownerDetails.version(COLEMAN)).isEqualTo(version + 1);
+        OwnerDetails reloaded = ownerDetails.load(COLEMAN);
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.owner().getVersion()).isEqualTo(version + 1);
+    }
+
+}
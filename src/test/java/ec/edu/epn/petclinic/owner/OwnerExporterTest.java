@@ -0,0 +1,50 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class OwnerExporterTest {
+
+    @Autowired
+    private OwnerExporter exporter;
+
+    @Autowired
+    private OwnerRepository owners;
+
+    @Test
+    @DisplayName("Should_writeOneLinePerVisit_When_ExportingCsv")
+    void should_writeOneLinePerVisit_When_ExportingCsv() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        exporter.exportCsv(writer);
+
+        List<String> lines = writer.toString().lines().toList();
+        assertThat(lines.get(0)).isEqualTo(OwnerImporter.CSV_COLUMNS);
+        assertThat(lines).contains("George,Franklin,110 W. Liberty St.,Madison,6085551023,Leo,2010-09-07,cat,,");
+        assertThat(lines).contains(
+                "Jean,Coleman,105 N. Lake St.,Monona,6085552654,Samantha,2012-09-04,cat,2013-01-01,rabies shot");
+    }
+
+    @Test
+    @DisplayName("Should_writeOneLinePerOwner_When_ExportingNdjson")
+    void should_writeOneLinePerOwner_When_ExportingNdjson() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        exporter.exportNdjson(writer);
+
+        List<String> lines = writer.toString().lines().toList();
+        assertThat(lines).hasSize((int) owners.count());
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains("\"lastName\":\"Coleman\"")
+            .contains("\"name\":\"Samantha\"")
+            .contains("\"description\":\"spayed\""));
+    }
+
+}
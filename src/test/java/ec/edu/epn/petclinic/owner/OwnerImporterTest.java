@@ -0,0 +1,146 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.validation.Validation;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerImporterTest {
+
+    private static final String GEORGE = "{\"firstName\":\"George\",\"lastName\":\"Franklin\","
+            + "\"address\":\"110 W. Liberty St.\",\"city\":\"Madison\",\"telephone\":\"6085551023\","
+            + "\"pets\":[{\"name\":\"Leo\",\"birthDate\":\"2010-09-07\",\"type\":\"cat\","
+            + "\"visits\":[{\"date\":\"2013-01-01\",\"description\":\"rabies shot\"}]}]}";
+
+    private static final String BETTY = "{\"firstName\":\"Betty\",\"lastName\":\"Davis\","
+            + "\"address\":\"638 Cardinal Ave.\",\"city\":\"Sun Prairie\",\"telephone\":\"6085551749\"}";
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    @Mock
+    private PetTypeRepository petTypeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<Owner>> savedBatches = new ArrayList<>();
+
+    private OwnerImporter importer;
+
+    @BeforeEach
+    void setup() {
+        importer = new OwnerImporter(ownerRepository, petTypeRepository, new PetValidator(),
+                Validation.buildDefaultValidatorFactory().getValidator(), JsonMapper.builder().build(),
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(importer, "batchSize", 2);
+        PetType cat = new PetType();
+        cat.setId(1);
+        cat.setName("cat");
+        when(petTypeRepository.findPetTypes()).thenReturn(List.of(cat));
+    }
+
+    @Test
+    @DisplayName("Should_saveOwnersInBatches_When_NdjsonValid")
+    void should_saveOwnersInBatches_When_NdjsonValid() throws Exception {
+        recordSavedBatches();
+        String input = String.join("\n", GEORGE, BETTY, GEORGE.replace("George", "Georgina"));
+
+        ImportResult result = importer.importNdjson(new StringReader(input));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isZero();
+        assertThat(savedBatches).extracting(List::size).containsExactly(2, 1);
+        Owner george = savedBatches.get(0).get(0);
+        assertThat(george.getPets()).singleElement().satisfies(pet -> {
+            assertThat(pet.getType().getName()).isEqualTo("cat");
+            assertThat(pet.getVisits()).extracting(Visit::getDescription).containsExactly("rabies shot");
+        });
+    }
+
+    @Test
+    @DisplayName("Should_rejectOwner_When_RowFailsValidation")
+    void should_rejectOwner_When_RowFailsValidation() throws Exception {
+        String input = String.join("\n", BETTY.replace("6085551749", "12"), GEORGE.replace("cat", "dragon"),
+                "{not json");
+
+        ImportResult result = importer.importNdjson(new StringReader(input));
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(3);
+        assertThat(result.getErrors().get(0)).startsWith("line 1: telephone");
+        assertThat(result.getErrors().get(1)).contains("unknown type dragon");
+        assertThat(result.getErrors().get(2)).startsWith("line 3: malformed JSON");
+        verify(ownerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should_groupConsecutiveRows_When_ImportingCsv")
+    void should_groupConsecutiveRows_When_ImportingCsv() throws Exception {
+        recordSavedBatches();
+        String input = String.join("\n", OwnerImporter.CSV_COLUMNS,
+                "George,Franklin,\"110 W. Liberty St.\",Madison,6085551023,Leo,2010-09-07,cat,2013-01-01,rabies shot",
+                "George,Franklin,\"110 W. Liberty St.\",Madison,6085551023,Leo,2010-09-07,cat,2013-01-04,\"spayed, twice\"",
+                "Betty,Davis,638 Cardinal Ave.,Sun Prairie,6085551749,,,,,");
+
+        ImportResult result = importer.importCsv(new StringReader(input));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        verify(ownerRepository, times(1)).saveAll(any());
+        Owner george = savedBatches.get(0).get(0);
+        assertThat(george.getPets()).singleElement()
+            .satisfies(pet -> assertThat(pet.getVisits()).extracting(Visit::getDescription)
+                .containsExactly("rabies shot", "spayed, twice"));
+        assertThat(savedBatches.get(0).get(1).getPets()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_rejectWholeOwner_When_OneOfItsCsvRowsHasMalformedDate")
+    void should_rejectWholeOwner_When_OneOfItsCsvRowsHasMalformedDate() throws Exception {
+        recordSavedBatches();
+        String input = String.join("\n", OwnerImporter.CSV_COLUMNS,
+                "George,Franklin,\"110 W. Liberty St.\",Madison,6085551023,Leo,2010-09-07,cat,2013-01-01,rabies shot",
+                "George,Franklin,\"110 W. Liberty St.\",Madison,6085551023,Leo,2010-09-07,cat,2013-13-45,neutered",
+                "George,Franklin,\"110 W. Liberty St.\",Madison,6085551023,Max,2012-09-04,cat,,",
+                "Betty,Davis,638 Cardinal Ave.,Sun Prairie,6085551749,,,,,");
+
+        ImportResult result = importer.importCsv(new StringReader(input));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly("line 2: malformed date on line 3: 2013-13-45");
+        assertThat(savedBatches).singleElement()
+            .satisfies(batch -> assertThat(batch).extracting(Owner::getLastName).containsExactly("Davis"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordSavedBatches() {
+        when(ownerRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Owner> batch = new ArrayList<>((List<Owner>) invocation.getArgument(0));
+            savedBatches.add(batch);
+            return batch;
+        });
+    }
+
+}
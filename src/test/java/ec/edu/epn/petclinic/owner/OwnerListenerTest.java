@@ -0,0 +1,58 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "petclinic.owners.search-index.enabled=true")
+class OwnerListenerTest {
+
+    @Autowired
+    private OwnerRepository owners;
+
+    @Autowired
+    private PetTypeRepository types;
+
+    @Autowired
+    private OwnerSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should_reindexOwner_When_OwnerAndPetChangesAreCommitted")
+    void should_reindexOwner_When_OwnerAndPetChangesAreCommitted() {
+        Owner owner = new Owner();
+        owner.setFirstName("Listener");
+        owner.setLastName("Zebulon");
+        owner.setAddress("1 Commit Road");
+        owner.setCity("Quito");
+        owner.setTelephone("0911111111");
+        int ownerId = owners.save(owner).getId();
+        assertThat(searchIndex.search("zebulon", 10)).containsExactly(ownerId);
+
+        Pet pet = new Pet();
+        pet.setName("Quetzal");
+        pet.setBirthDate(LocalDate.of(2020, 1, 1));
+        pet.setType(types.findPetTypes().get(0));
+        transactionTemplate.executeWithoutResult(status -> owners.findById(ownerId).orElseThrow().addPet(pet));
+        assertThat(searchIndex.search("quetzal", 10)).containsExactly(ownerId);
+
+        transactionTemplate.executeWithoutResult(status -> owners.findById(ownerId)
+            .orElseThrow()
+            .getPets()
+            .forEach(saved -> saved.setName("Xochitl")));
+        assertThat(searchIndex.search("quetzal", 10)).isEmpty();
+        assertThat(searchIndex.search("xochitl", 10)).containsExactly(ownerId);
+
+        transactionTemplate.executeWithoutResult(status -> owners.deleteById(ownerId));
+        assertThat(searchIndex.search("zebulon", 10)).isEmpty();
+    }
+
+}
@@ -0,0 +1,93 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import ec.edu.epn.petclinic.system.EntityNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerLoaderTest {
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OwnerLoader ownerLoader;
+
+    @BeforeEach
+    void setup() {
+        ownerLoader = new OwnerLoader(ownerRepository, new MissingIds(new ConcurrentMapCacheManager()), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should_queryOwnerOnce_When_LoadedRepeatedly")
+    void should_queryOwnerOnce_When_LoadedRepeatedly() {
+        Owner owner = new Owner();
+        owner.setId(4);
+        when(ownerRepository.findDetailsById(4)).thenReturn(Optional.of(owner));
+
+        assertThat(ownerLoader.load(4)).isSameAs(owner);
+        assertThat(ownerLoader.load(4)).isSameAs(owner);
+        assertThat(ownerLoader.load(4)).isSameAs(owner);
+
+        verify(ownerRepository, times(1)).findDetailsById(4);
+        assertThat(ownerLoader.getMisses()).isEqualTo(1);
+        assertThat(ownerLoader.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should_countHitsAndMissesAcrossRequests_When_OwnersAreLoaded")
+    void should_countHitsAndMissesAcrossRequests_When_OwnersAreLoaded() {
+        Owner owner = new Owner();
+        owner.setId(4);
+        when(ownerRepository.findDetailsById(4)).thenReturn(Optional.of(owner));
+        OwnerLoader nextRequest = new OwnerLoader(ownerRepository, new MissingIds(new ConcurrentMapCacheManager()),
+                meterRegistry);
+
+        ownerLoader.load(4);
+        ownerLoader.load(4);
+        nextRequest.load(4);
+
+        assertThat(meterRegistry.get("petclinic.owners.loads").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("petclinic.owners.loads").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should_throwEntityNotFound_When_OwnerDoesNotExist")
+    void should_throwEntityNotFound_When_OwnerDoesNotExist() {
+        when(ownerRepository.findDetailsById(99)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownerLoader.load(99)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(ownerLoader.getMisses()).isEqualTo(1);
+        assertThat(ownerLoader.getHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should_notQueryAgain_When_OwnerIsKnownToBeMissing")
+    void should_notQueryAgain_When_OwnerIsKnownToBeMissing() {
+        when(ownerRepository.findDetailsById(99)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownerLoader.load(99)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> ownerLoader.load(99)).isInstanceOf(EntityNotFoundException.class)
+            .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+
+        verify(ownerRepository, times(1)).findDetailsById(99);
+    }
+
+}
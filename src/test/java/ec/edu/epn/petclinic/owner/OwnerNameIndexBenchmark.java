@@ -0,0 +1,107 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency distribution of {@link OwnerNameIndex} lookups over a million owners, for the
+ * owners list (<code>/owners?lastName=</code>) and autocomplete
+ * (<code>/owners/autocomplete</code>). Sample time mode reports the p99 and p99.9 of
+ * every lookup, including its timer.
+ * <p>
+ * Last names are built from a fixed seed, three syllables each, so every run indexes the
+ * same owners: up to 46,656 distinct names, each shared by about 21 owners. The prefix
+ * <code>m</code> matches about 55 thousand owners, <code>mar</code> about 1,500
+ * and <code>marosto</code> a single name.
+ * </p>
+ * <p>
+ * Run with
+ * <code>mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main OwnerNameIndexBenchmark"</code>.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(4)
+public class OwnerNameIndexBenchmark {
+
+    private static final String[] SYLLABLES = { "ba", "co", "da", "es", "fra", "ga", "hu", "ji", "ko", "le", "ma",
+            "ne", "ol", "pe", "ri", "sa", "to", "va", "wi", "zu", "ar", "bel", "cas", "dor", "en", "fer", "gil", "her",
+            "il", "mon", "nor", "os", "par", "ros", "san", "tor" };
+
+    private static final int OWNERS = 1_000_000;
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({ "m", "mar", "marosto" })
+    private String prefix;
+
+    private OwnerNameIndex index;
+
+    private OwnerCursor deepCursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<OwnerName> names = IntStream.rangeClosed(1, OWNERS)
+            .mapToObj(id -> new OwnerName(id, lastName(random)))
+            .toList();
+        OwnerRepository repository = mock(OwnerRepository.class);
+        when(repository.streamNames()).thenReturn(names.stream());
+        index = new OwnerNameIndex(repository, new SimpleMeterRegistry(), true);
+        index.load();
+        // a page further down the matches, as reached by following "next" links
+        List<Integer> ids = index.findIds(prefix, OwnerCursor.FIRST, 1_000);
+        OwnerName last = names.get(ids.get(ids.size() - 1) - 1);
+        deepCursor = new OwnerCursor(last.lastName(), last.id());
+    }
+
+    private static String lastName(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    @Benchmark
+    public List<Integer> findFirstPage() {
+        return index.findIds(prefix, OwnerCursor.FIRST, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Integer> findDeepPage() {
+        return index.findIds(prefix, deepCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<String> suggestLastNames() {
+        return index.suggestLastNames(prefix, PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,93 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerNameIndexTest {
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private OwnerNameIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new OwnerNameIndex(ownerRepository, registry, true);
+        when(ownerRepository.streamNames()).thenReturn(Stream.of(new OwnerName(1, "Davis"), new OwnerName(2, "Black"),
+                new OwnerName(3, "davidson"), new OwnerName(4, "Davis"), new OwnerName(5, "Coleman")));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should_matchIgnoringCase_When_FindingByPrefix")
+    void should_matchIgnoringCase_When_FindingByPrefix() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.findIds("DAV", OwnerCursor.FIRST, 10)).containsExactly(3, 1, 4);
+        assertThat(index.findIds("", OwnerCursor.FIRST, 10)).containsExactly(2, 5, 3, 1, 4);
+        assertThat(index.findIds("Franklin", OwnerCursor.FIRST, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_continueAfterCursor_When_FindingNextPage")
+    void should_continueAfterCursor_When_FindingNextPage() {
+        assertThat(index.findIds("da", OwnerCursor.FIRST, 2)).containsExactly(3, 1);
+        assertThat(index.findIds("da", new OwnerCursor("Davis", 1), 2)).containsExactly(4);
+    }
+
+    @Test
+    @DisplayName("Should_moveOwner_When_LastNameChanged")
+    void should_moveOwner_When_LastNameChanged() {
+        index.put(1, "Escobito");
+        index.put(6, "Daniels");
+        index.remove(4);
+
+        assertThat(index.findIds("da", OwnerCursor.FIRST, 10)).containsExactly(6, 3);
+        assertThat(index.findIds("e", OwnerCursor.FIRST, 10)).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should_suggestDistinctNames_When_Autocompleting")
+    void should_suggestDistinctNames_When_Autocompleting() {
+        assertThat(index.suggestLastNames("d", 10)).containsExactly("davidson", "Davis");
+        assertThat(index.suggestLastNames("", 2)).containsExactly("Black", "Coleman");
+    }
+
+    @Test
+    @DisplayName("Should_timeLookups_When_FindingAndSuggesting")
+    void should_timeLookups_When_FindingAndSuggesting() {
+        index.findIds("dav", OwnerCursor.FIRST, 10);
+        index.findIds("b", OwnerCursor.FIRST, 10);
+        index.suggestLastNames("dav", 10);
+
+        assertThat(registry.get("petclinic.owners.name-index").tag("operation", "find").timer().count()).isEqualTo(2);
+        assertThat(registry.get("petclinic.owners.name-index").tag("operation", "suggest").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should_leaveSearchesToDatabase_When_IndexIsDisabled")
+    void should_leaveSearchesToDatabase_When_IndexIsDisabled() {
+        OwnerNameIndex disabled = new OwnerNameIndex(ownerRepository, new SimpleMeterRegistry(), false);
+
+        disabled.load();
+        disabled.put(1, "Davis");
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.findIds("", OwnerCursor.FIRST, 10)).isEmpty();
+    }
+
+}
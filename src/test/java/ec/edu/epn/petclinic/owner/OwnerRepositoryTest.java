@@ -0,0 +1,155 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OwnerRepositoryTest {
+
+    private static final int PETS = 10;
+
+    private static final int VISITS_PER_PET = 5;
+
+    @Autowired
+    private OwnerRepository owners;
+
+    @Autowired
+    private PetTypeRepository types;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should_loadPetsAndTypesInOneStatement_When_FindingDetailsById")
+    void should_loadPetsAndTypesInOneStatement_When_FindingDetailsById() {
+        int ownerId = saveOwnerWithPetsAndVisits();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Owner owner = owners.findDetailsById(ownerId).orElseThrow();
+        for (Pet pet : owner.getPets()) {
+            assertThat(pet.getType().getName()).isNotBlank();
+            // visits are read a page at a time through VisitRepository
+            assertThat(Hibernate.isInitialized(pet.getVisits())).isFalse();
+        }
+
+        assertThat(owner.getPets()).hasSize(PETS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should_batchCascadedInserts_When_SavingOwnerWithPetsAndVisits")
+    void should_batchCascadedInserts_When_SavingOwnerWithPetsAndVisits() {
+        statistics.clear();
+
+        saveOwnerWithPetsAndVisits();
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + PETS + PETS * VISITS_PER_PET);
+        // statements are prepared per batch rather than per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(PETS * VISITS_PER_PET);
+    }
+
+    @Test
+    @DisplayName("Should_returnEmpty_When_FindingDetailsOfUnknownOwner")
+    void should_returnEmpty_When_FindingDetailsOfUnknownOwner() {
+        assertThat(owners.findDetailsById(-1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_readOwnersListInOneStatement_When_UsingSummaries")
+    void should_readOwnersListInOneStatement_When_UsingSummaries() {
+        statistics.clear();
+
+        List<OwnerSummary> summaries = owners.seekByLastNameStartingWith("", "", 0, Limit.of(5));
+
+        assertThat(summaries).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should_needOneStatementPerOwner_When_RenderingEntitiesInsteadOfSummaries")
+    void should_needOneStatementPerOwner_When_RenderingEntitiesInsteadOfSummaries() {
+        statistics.clear();
+
+        Page<Owner> page = owners.findByLastNameStartingWith("", PageRequest.of(0, 5));
+        page.forEach(owner -> owner.getPets().size());
+
+        // page query + count query + one pets query per owner
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 + page.getNumberOfElements());
+    }
+
+    @Test
+    @DisplayName("Should_aggregatePetNames_When_ReadingSummaries")
+    void should_aggregatePetNames_When_ReadingSummaries() {
+        List<OwnerSummary> summaries = owners.seekByLastNameStartingWith("Coleman", "", 0, Limit.of(PETS));
+
+        assertThat(summaries).singleElement().satisfies(summary -> {
+            assertThat(summary.getFirstName()).isEqualTo("Jean");
+            assertThat(summary.getPetNames()).isEqualTo("Max, Samantha");
+        });
+    }
+
+    @Test
+    @DisplayName("Should_keepIdOrder_When_FindingSummariesInOrder")
+    void should_keepIdOrder_When_FindingSummariesInOrder() {
+        List<OwnerSummary> summaries = owners.findSummariesInOrder(List.of(6, 1, 3));
+
+        assertThat(summaries).extracting(OwnerSummary::getLastName).containsExactly("Coleman", "Franklin", "Rodriquez");
+    }
+
+    private int saveOwnerWithPetsAndVisits() {
+        PetType type = types.findPetTypes().get(0);
+        Owner owner = new Owner();
+        owner.setFirstName("Many");
+        owner.setLastName("Pets");
+        owner.setAddress("1 Kennel Road");
+        owner.setCity("Quito");
+        owner.setTelephone("0999999999");
+        for (int i = 0; i < PETS; i++) {
+            Pet pet = new Pet();
+            pet.setName("pet" + i);
+            pet.setBirthDate(LocalDate.of(2020, 1, 1));
+            pet.setType(type);
+            for (int j = 0; j < VISITS_PER_PET; j++) {
+                Visit visit = new Visit();
+                visit.setDate(LocalDate.of(2024, 1, 1).plusDays(j));
+                visit.setDescription("visit " + j);
+                pet.addVisit(visit);
+            }
+            owner.addPet(pet);
+        }
+        return owners.save(owner).getId();
+    }
+
+}
@@ -0,0 +1,142 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerSearchIndexTest {
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    private SimpleMeterRegistry registry;
+
+    private OwnerSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        index = new OwnerSearchIndex(ownerRepository, registry, true);
+    }
+
+    private void load() {
+        when(ownerRepository.streamSearchRows()).thenReturn(Stream.of(
+                rows(1, "George", "Franklin", "Madison", "6085551023", "Leo"),
+                rows(2, "Jean", "Coleman", "Monona", "6085552654", "Max", "Samantha"),
+                rows(3, "Maria", "Escobito", "Madison", "6085557683", "Mulligan")).flatMap(List::stream));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should_findOwner_When_SearchingByTelephoneOrPetName")
+    void should_findOwner_When_SearchingByTelephoneOrPetName() {
+        load();
+
+        assertThat(index.search("6085552654", 10)).containsExactly(2);
+        assertThat(index.search("samantha", 10)).containsExactly(2);
+        assertThat(index.search("Leo", 10)).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should_requireEveryWord_When_SearchingSeveralWords")
+    void should_requireEveryWord_When_SearchingSeveralWords() {
+        load();
+
+        assertThat(index.search("madison", 10)).containsExactlyInAnyOrder(1, 3);
+        assertThat(index.search("madison mul", 10)).containsExactly(3);
+        assertThat(index.search("madison max", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_rankExactWordsFirst_When_SearchingByPrefix")
+    void should_rankExactWordsFirst_When_SearchingByPrefix() {
+        load();
+        index.put(4, rows(4, "Harold", "Max", "Windsor", "6085553198"));
+        index.put(5, rows(5, "Peter", "Maxwell", "Windsor", "6085552765"));
+
+        assertThat(index.search("max", 10)).containsExactly(4, 2, 5);
+    }
+
+    @Test
+    @DisplayName("Should_forgetOldWords_When_OwnerReindexed")
+    void should_forgetOldWords_When_OwnerReindexed() {
+        load();
+        index.put(1, rows(1, "George", "Franklin", "Waunakee", "6085551023", "Leo"));
+
+        assertThat(index.search("madison", 10)).containsExactly(3);
+        assertThat(index.search("waunakee", 10)).containsExactly(1);
+        assertThat(registry.get("petclinic.owners.search").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should_searchDatabaseByLongestWord_When_IndexIsNotLoaded")
+    void should_searchDatabaseByLongestWord_When_IndexIsNotLoaded() {
+        when(ownerRepository.findIdsContaining("madison", Limit.of(10))).thenReturn(List.of(3, 1));
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search("Madison mul", 10)).containsExactly(3, 1);
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_alwaysSearchDatabase_When_IndexIsDisabled")
+    void should_alwaysSearchDatabase_When_IndexIsDisabled() {
+        OwnerSearchIndex disabled = new OwnerSearchIndex(ownerRepository, registry, false);
+        when(ownerRepository.findIdsContaining("6085552654", Limit.of(10))).thenReturn(List.of(2));
+
+        disabled.load();
+        disabled.refresh(2);
+        disabled.refreshOwnersOfPets(List.of(3));
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.search("6085552654", 10)).containsExactly(2);
+        verify(ownerRepository, never()).streamSearchRows();
+        verify(ownerRepository, never()).findSearchRowsById(2);
+        verify(ownerRepository, never()).findSearchRowsByPetIdIn(List.of(3));
+    }
+
+    @Test
+    @DisplayName("Should_removeOwner_When_RefreshedOwnerNoLongerExists")
+    void should_removeOwner_When_RefreshedOwnerNoLongerExists() {
+        load();
+        when(ownerRepository.findSearchRowsById(3)).thenReturn(List.of());
+
+        index.refresh(3);
+
+        assertThat(index.search("madison", 10)).containsExactly(1);
+        assertThat(registry.get("petclinic.owners.search.indexed").gauge().value()).isEqualTo(2);
+    }
+
+    private List<OwnerSearchRow> rows(int id, String firstName, String lastName, String city, String telephone,
+            String... petNames) {
+        Owner owner = new Owner();
+        owner.setId(id);
+        owner.setFirstName(firstName);
+        owner.setLastName(lastName);
+        owner.setAddress("1 Main St.");
+        owner.setCity(city);
+        owner.setTelephone(telephone);
+        for (String petName : petNames) {
+            Pet pet = new Pet();
+            pet.setName(petName);
+            owner.addPet(pet);
+        }
+        return OwnerSearchRow.of(owner);
+    }
+
+}
@@ -22,9 +22,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class PetControllerTest {
 
@@ -36,6 +39,9 @@ class PetControllerTest {
     @Mock
     private PetTypeRepository petTypeRepository;
 
+    @Mock
+    private OwnerDetailsLoader ownerDetailsLoader;
+
     @Mock
     private PetValidator petValidator;
 
@@ -46,14 +52,19 @@ class PetControllerTest {
 
     private Owner owner;
 
+    private MissingIds missingIds;
+
     @BeforeEach
     void setup() {
-        petController = new PetController(ownerRepository, petTypeRepository, petValidator, clock);
+        missingIds = new MissingIds(new ConcurrentMapCacheManager());
+        OwnerLoader ownerLoader = new OwnerLoader(ownerRepository, missingIds, new SimpleMeterRegistry());
+        petController = new PetController(ownerRepository, ownerLoader, ownerDetailsLoader, petTypeRepository,
+                petValidator, clock);
         mockMvc = MockMvcBuilders.standaloneSetup(petController)
                 .setValidator(petValidator)
                 .build();
         owner = buildOwnerWithPet();
-        when(ownerRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(ownerRepository.findDetailsById(owner.getId())).thenReturn(Optional.of(owner));
         lenient().when(petTypeRepository.findPetTypes()).thenReturn(List.of(buildPetType(1, "dog")));
         lenient().when(petValidator.supports(any())).thenReturn(true);
         lenient().doAnswer(invocation -> null).when(petValidator).validate(any(), any());
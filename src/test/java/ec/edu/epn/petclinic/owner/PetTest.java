@@ -46,26 +46,21 @@ class PetTest {
     class ValidationTests {
 
         @Test
-        @DisplayName("Valid pet should have validation issues due to inheritance design")
+        @DisplayName("Valid pet should pass validation")
         void validPet_shouldPassValidation() {
-            // Arrange - Pet inherits from NamedEntity which has @NotBlank on name
-            // But Pet overrides the name field without @NotBlank
-            // The validator checks the parent's private field which remains null
+            // Arrange - Pet uses the name of NamedEntity and its @NotBlank
             pet.setName("Fluffy");
 
             // Act
             Set<ConstraintViolation<Pet>> violations = validator.validate(pet);
 
-            // Assert - Due to inheritance design, parent's name field is still null
-            // This is expected behavior with the current entity design
-            assertThat(violations)
-                    .hasSize(1)
-                    .anyMatch(v -> v.getPropertyPath().toString().equals("name"));
+            // Assert
+            assertThat(violations).isEmpty();
         }
 
         @Test
         @DisplayName("Pet without name should have validation violation (inherits @NotBlank from NamedEntity)")
-        void petWithoutName_shouldBeValid() {
+        void petWithoutName_shouldHaveViolation() {
             // Arrange
             pet.setName(null);
 
@@ -87,34 +82,28 @@ class PetTest {
         @DisplayName("Pet can have birth date in the past")
         void pastBirthDate_shouldBeValid() {
             // Arrange
-            pet.setName("OldDog"); // Set name but parent's name field remains null
+            pet.setName("OldDog");
             pet.setBirthDate(LocalDate.of(2015, 6, 10));
 
             // Act
             Set<ConstraintViolation<Pet>> violations = validator.validate(pet);
 
-            // Assert - Only name validation fails due to inheritance design
-            assertThat(violations)
-                    .hasSize(1)
-                    .anyMatch(v -> v.getPropertyPath().toString().equals("name"))
-                    .noneMatch(v -> v.getPropertyPath().toString().equals("birthDate"));
+            // Assert
+            assertThat(violations).isEmpty();
         }
 
         @Test
         @DisplayName("Pet can have today as birth date")
         void todayBirthDate_shouldBeValid() {
             // Arrange
-            pet.setName("NewPuppy"); // Set name but parent's name field remains null
+            pet.setName("NewPuppy");
             pet.setBirthDate(LocalDate.now());
 
             // Act
             Set<ConstraintViolation<Pet>> violations = validator.validate(pet);
 
-            // Assert - Only name validation fails due to inheritance design
-            assertThat(violations)
-                    .hasSize(1)
-                    .anyMatch(v -> v.getPropertyPath().toString().equals("name"))
-                    .noneMatch(v -> v.getPropertyPath().toString().equals("birthDate"));
+            // Assert
+            assertThat(violations).isEmpty();
         }
 
         @Test
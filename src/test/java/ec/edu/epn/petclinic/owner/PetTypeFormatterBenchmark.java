@@ -0,0 +1,94 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of parsing a pet type name: the name index of {@link PetTypeFormatter} against
+ * the linear scan over all pet types it replaced. The scan is measured over an
+ * in-memory list, so it leaves out the query cache lookup the old formatter also paid
+ * for on every parse. The name parsed is the last one in scan order, the worst case for
+ * the scan.
+ * <p>
+ * Run with
+ * <code>mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main PetTypeFormatterBenchmark"</code>.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetTypeFormatterBenchmark {
+
+    @Param({ "6", "100" })
+    private int typeCount;
+
+    private List<PetType> types;
+
+    private PetTypeFormatter formatter;
+
+    private String name;
+
+    @Setup
+    public void setup() throws ParseException {
+        types = new ArrayList<>(typeCount);
+        for (int i = 1; i <= typeCount; i++) {
+            PetType type = new PetType();
+            type.setId(i);
+            type.setName("type" + i);
+            types.add(type);
+        }
+        name = "type" + typeCount;
+        PetTypeRepository repository = mock(PetTypeRepository.class);
+        when(repository.findPetTypes()).thenReturn(types);
+        formatter = new PetTypeFormatter(repository);
+        // load the index outside the measurement
+        formatter.parse(name, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public PetType indexLookup() throws ParseException {
+        return formatter.parse(name, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public PetType linearScan() throws ParseException {
+        return scan(types, name);
+    }
+
+    /**
+     * The parse of the formatter before the index.
+     */
+    private static PetType scan(Collection<PetType> types, String text) throws ParseException {
+        for (PetType type : types) {
+            if (Objects.equals(type.getName(), text)) {
+                return type;
+            }
+        }
+        throw new ParseException("type not found: " + text, 0);
+    }
+
+}
@@ -0,0 +1,68 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PetTypeFormatterTest {
+
+    @Mock
+    private PetTypeRepository petTypeRepository;
+
+    private PetTypeFormatter formatter;
+
+    @BeforeEach
+    void setup() {
+        formatter = new PetTypeFormatter(petTypeRepository);
+        when(petTypeRepository.findPetTypes()).thenReturn(List.of(buildPetType(1, "cat"), buildPetType(2, "dog")));
+    }
+
+    @Test
+    @DisplayName("Should_queryTypesOnce_When_ParsingRepeatedly")
+    void should_queryTypesOnce_When_ParsingRepeatedly() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertThat(formatter.parse("dog", Locale.ENGLISH).getId()).isEqualTo(2);
+        }
+
+        verify(petTypeRepository, times(1)).findPetTypes();
+    }
+
+    @Test
+    @DisplayName("Should_throwParseException_When_TypeIsUnknown")
+    void should_throwParseException_When_TypeIsUnknown() {
+        assertThatThrownBy(() -> formatter.parse("dragon", Locale.ENGLISH)).isInstanceOf(ParseException.class);
+    }
+
+    @Test
+    @DisplayName("Should_parseNewType_When_IndexWasRefreshed")
+    void should_parseNewType_When_IndexWasRefreshed() throws Exception {
+        formatter.parse("cat", Locale.ENGLISH);
+        when(petTypeRepository.findPetTypes()).thenReturn(List.of(buildPetType(1, "cat"), buildPetType(7, "ferret")));
+
+        formatter.refresh();
+
+        assertThat(formatter.parse("ferret", Locale.ENGLISH).getId()).isEqualTo(7);
+    }
+
+    private PetType buildPetType(int id, String name) {
+        PetType type = new PetType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+
+}
@@ -0,0 +1,62 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class PetTypeRepositoryTest {
+
+    @Autowired
+    private PetTypeRepository types;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should_serveFromQueryCache_When_FindingPetTypesAgain")
+    void should_serveFromQueryCache_When_FindingPetTypesAgain() {
+        types.findPetTypes();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(types.findPetTypes()).extracting(PetType::getName).contains("cat", "dog");
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should_includeNewType_When_PetTypeWasSaved")
+    void should_includeNewType_When_PetTypeWasSaved() {
+        types.findPetTypes();
+        PetType ferret = new PetType();
+        ferret.setName("ferret");
+
+        types.saveAndFlush(ferret);
+
+        assertThat(types.findPetTypes()).extracting(PetType::getName).contains("ferret");
+    }
+
+}
@@ -1,15 +1,21 @@
 package ec.edu.epn.petclinic.owner;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,9 +24,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class VisitControllerTest {
 
@@ -29,13 +40,23 @@ class VisitControllerTest {
     @Mock
     private OwnerRepository ownerRepository;
 
+    @Mock
+    private VisitRepository visitRepository;
+
+    @Mock
+    private OwnerDetailsLoader ownerDetailsLoader;
+
     private VisitController visitController;
 
     private Owner owner;
 
+    private MissingIds missingIds;
+
     @BeforeEach
     void setup() {
-        visitController = new VisitController(ownerRepository);
+        missingIds = new MissingIds(new ConcurrentMapCacheManager());
+        OwnerLoader ownerLoader = new OwnerLoader(ownerRepository, missingIds, new SimpleMeterRegistry());
+        visitController = new VisitController(ownerLoader, ownerDetailsLoader, missingIds, visitRepository);
         mockMvc = MockMvcBuilders.standaloneSetup(visitController).build();
 
         owner = new Owner();
@@ -52,8 +73,7 @@ class VisitControllerTest {
         pet.setBirthDate(LocalDate.now().minusYears(1));
         owner.getPetsInternal().add(pet);
 
-        when(ownerRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        lenient().when(ownerRepository.save(any(Owner.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(ownerRepository.findDetailsById(owner.getId())).thenReturn(Optional.of(owner));
     }
 
     @Test
@@ -67,10 +87,40 @@ class VisitControllerTest {
     @Test
     @DisplayName("Should_redirectAfterVisitCreation_When_DataValid")
     void should_redirectAfterVisitCreation_When_DataValid() throws Exception {
+        when(visitRepository.addVisit(eq(1), eq(10), any(Visit.class))).thenReturn(true);
+
         mockMvc.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", owner.getId(), 10)
                 .param("description", "Checkup"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(flash().attributeExists("message"));
+
+        verify(ownerRepository, never()).findDetailsById(any());
+        verify(ownerRepository, never()).save(any(Owner.class));
+        verify(ownerDetailsLoader).changed(1);
+    }
+
+    @Test
+    @DisplayName("Should_returnNotFound_When_PetDoesNotBelongToOwner")
+    void should_returnNotFound_When_PetDoesNotBelongToOwner() throws Exception {
+        when(visitRepository.addVisit(eq(1), eq(99), any(Visit.class))).thenReturn(false);
+
+        mockMvc.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", owner.getId(), 99)
+                .param("description", "Checkup"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should_skipBooking_When_PetIsKnownToBeMissing")
+    void should_skipBooking_When_PetIsKnownToBeMissing() throws Exception {
+        when(visitRepository.addVisit(eq(1), eq(99), any(Visit.class))).thenReturn(false);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", owner.getId(), 99)
+                    .param("description", "Checkup"))
+                    .andExpect(status().isNotFound());
+        }
+
+        verify(visitRepository, times(1)).addVisit(eq(1), eq(99), any(Visit.class));
     }
 
     @Test
@@ -81,4 +131,28 @@ class VisitControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("pets/createOrUpdateVisitForm"));
     }
+
+    @Test
+    @DisplayName("Should_seekPastGivenVisit_When_ShowingOlderHistory")
+    void should_seekPastGivenVisit_When_ShowingOlderHistory() throws Exception {
+        ReflectionTestUtils.setField(visitController, "pageSize", 2);
+        Visit older = new Visit();
+        older.setDescription("Older");
+        when(visitRepository.findByPetIdBefore(eq(10), eq(LocalDate.of(2020, 1, 2)), eq(5), any(Limit.class)))
+                .thenReturn(List.of(older));
+
+        mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", owner.getId(), 10)
+                .param("beforeDate", "2020-01-02")
+                .param("beforeId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("pets/visitHistory"))
+                .andExpect(model().attribute("history", new RecentVisits(List.of(older), false)));
+    }
+
+    @Test
+    @DisplayName("Should_returnNotFound_When_HistoryPetDoesNotBelongToOwner")
+    void should_returnNotFound_When_HistoryPetDoesNotBelongToOwner() throws Exception {
+        mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", owner.getId(), 99))
+                .andExpect(status().isNotFound());
+    }
 }
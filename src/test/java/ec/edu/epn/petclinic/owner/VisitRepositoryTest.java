@@ -0,0 +1,73 @@
+package ec.edu.epn.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class VisitRepositoryTest {
+
+    // Samantha (pet 7) has visits 1 and 4, Max (pet 8) visits 2 and 3, see data.sql
+    private static final int SAMANTHA = 7;
+
+    private static final int MAX = 8;
+
+    @Autowired
+    private VisitRepository visits;
+
+    @Test
+    @DisplayName("Should_returnNewestVisitsPerPet_When_FindingRecentVisits")
+    void should_returnNewestVisitsPerPet_When_FindingRecentVisits() {
+        Map<Integer, RecentVisits> recent = visits.findRecentByPet(List.of(SAMANTHA, MAX, 1), 1);
+
+        assertThat(recent).containsOnlyKeys(SAMANTHA, MAX);
+        assertThat(recent.get(SAMANTHA).visits()).extracting(Visit::getDescription).containsExactly("spayed");
+        assertThat(recent.get(SAMANTHA).more()).isTrue();
+        assertThat(recent.get(MAX).visits()).extracting(Visit::getDescription).containsExactly("neutered");
+    }
+
+    @Test
+    @DisplayName("Should_pageNewestFirst_When_SeekingPastLastVisit")
+    void should_pageNewestFirst_When_SeekingPastLastVisit() {
+        for (int day = 1; day <= 5; day++) {
+            Visit visit = new Visit();
+            visit.setDate(LocalDate.of(2014, 1, day));
+            visit.setDescription("checkup " + day);
+            visits.addVisit(6, SAMANTHA, visit);
+        }
+
+        List<Visit> first = visits.findByPetIdOrderByDateDescIdDesc(SAMANTHA, Limit.of(3));
+        Visit last = first.get(first.size() - 1);
+        List<Visit> second = visits.findByPetIdBefore(SAMANTHA, last.getDate(), last.getId(), Limit.of(3));
+
+        assertThat(first).extracting(Visit::getDescription).containsExactly("checkup 5", "checkup 4", "checkup 3");
+        assertThat(second).extracting(Visit::getDescription).containsExactly("checkup 2", "checkup 1", "spayed");
+    }
+
+    @Test
+    @DisplayName("Should_listVisitsByDateWithOwner_When_SeekingThroughSchedule")
+    void should_listVisitsByDateWithOwner_When_SeekingThroughSchedule() {
+        LocalDate from = LocalDate.of(2013, 1, 2);
+        LocalDate to = LocalDate.of(2013, 1, 4);
+
+        List<ScheduledVisit> first = visits.findSchedule(from, to, from, 0, Limit.of(2));
+        ScheduledVisit last = first.get(first.size() - 1);
+        List<ScheduledVisit> second = visits.findSchedule(from, to, last.date(), last.id(), Limit.of(2));
+
+        assertThat(first).extracting(ScheduledVisit::description).containsExactly("rabies shot", "neutered");
+        assertThat(first).extracting(ScheduledVisit::petName).containsExactly("Max", "Max");
+        assertThat(first).extracting(ScheduledVisit::ownerLastName).containsOnly("Coleman");
+        assertThat(second).extracting(ScheduledVisit::description).containsExactly("spayed");
+    }
+
+}
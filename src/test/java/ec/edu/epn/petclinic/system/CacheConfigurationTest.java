@@ -0,0 +1,118 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.time.Duration;
+
+import javax.cache.Caching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = { "petclinic.cache.specs.vets.maximum-size=7",
+        "petclinic.cache.specs.vets.expire-after-access=3m", "petclinic.cache.regions.petTypes.maximum-size=50" })
+class CacheConfigurationTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private javax.cache.CacheManager jCacheManager;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    @DisplayName("Should_applyCacheSpec_When_CacheIsConfiguredByName")
+    void should_applyCacheSpec_When_CacheIsConfiguredByName() {
+        Policy<Object, Object> policy = nativeCache("vets").policy();
+
+        assertThat(policy.eviction().orElseThrow().getMaximum()).isEqualTo(7);
+        assertThat(policy.expireAfterAccess().orElseThrow().getExpiresAfter()).isEqualTo(Duration.ofMinutes(3));
+        assertThat(policy.isRecordingStats()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should_weighPagesByElements_When_CacheHasMaximumWeight")
+    void should_weighPagesByElements_When_CacheHasMaximumWeight() {
+        Policy<Object, Object> policy = nativeCache("vetPages").policy();
+
+        assertThat(policy.eviction().orElseThrow().isWeighted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should_expireMissingIdsQuickly_When_UsingDefaultSpec")
+    void should_expireMissingIdsQuickly_When_UsingDefaultSpec() {
+        Policy<Object, Object> policy = nativeCache("missingIds").policy();
+
+        assertThat(policy.expireAfterWrite().orElseThrow().getExpiresAfter()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should_publishCacheMetrics_When_CacheIsConfiguredByName")
+    void should_publishCacheMetrics_When_CacheIsConfiguredByName() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "vets").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.size").tag("cache", "vetPages").meters()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should_boundHibernateRegionsByThisContextsSpec_When_RegionsAreCreated")
+    void should_boundHibernateRegionsByThisContextsSpec_When_RegionsAreCreated() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> configuration = jCacheManager.getCache("petTypes")
+            .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(jCacheManager).isNotSameAs(Caching.getCachingProvider().getCacheManager());
+        assertThat(configuration.getMaximumSize()).hasValue(50);
+        assertThat(configuration.getExpireAfterWrite()).hasValue(Duration.ofHours(1).toNanos());
+        assertThat(configuration.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should_leaveOtherContextsRegionsOpen_When_ContextIsClosed")
+    void should_leaveOtherContextsRegionsOpen_When_ContextIsClosed() {
+        try (AnnotationConfigApplicationContext other = new AnnotationConfigApplicationContext()) {
+            other.setEnvironment((ConfigurableEnvironment) environment);
+            other.register(CacheConfiguration.class, ConcurrentMapCacheManager.class);
+            other.refresh();
+            javax.cache.CacheManager otherManager = other.getBean(javax.cache.CacheManager.class);
+
+            other.close();
+
+            assertThat(otherManager.isClosed()).isTrue();
+            assertThat(jCacheManager.isClosed()).isFalse();
+            assertThat(jCacheManager.getCache("petTypes").isClosed()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should_rejectRegionSpec_When_NotBoundedBySize")
+    void should_rejectRegionSpec_When_NotBoundedBySize() {
+        CacheSpecification weighted = new CacheSpecification(null, 100L, null, null, null);
+
+        assertThatIllegalStateException().isThrownBy(() -> weighted.toJCache("petTypes"))
+            .withMessageContaining("petTypes");
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+}
@@ -0,0 +1,68 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource pool;
+
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        pool = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new ConnectionLimitingDataSource(pool, 2, 50);
+    }
+
+    @Test
+    @DisplayName("Should_timeOut_When_AllConnectionsAreHeld")
+    void should_timeOut_When_AllConnectionsAreHeld() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should_releasePermitOnce_When_ConnectionClosedTwice")
+    void should_releasePermitOnce_When_ConnectionClosedTwice() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Should_releasePermit_When_PoolFails")
+    void should_releasePermit_When_PoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+}
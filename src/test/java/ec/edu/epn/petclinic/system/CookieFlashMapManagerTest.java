@@ -0,0 +1,69 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.FlashMap;
+
+import jakarta.servlet.http.Cookie;
+
+class CookieFlashMapManagerTest {
+
+    private final CookieFlashMapManager manager = new CookieFlashMapManager();
+
+    @Test
+    @DisplayName("Should_restoreFlashAttributes_When_RedirectTargetIsRequestedWithTheCookie")
+    void should_restoreFlashAttributes_When_RedirectTargetIsRequestedWithTheCookie() {
+        FlashMap output = new FlashMap();
+        output.put("message", "New Owner Created & saved");
+        output.put("owner", new Object());
+        output.setTargetRequestPath("/owners/1");
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        manager.saveOutputFlashMap(output, new MockHttpServletRequest("POST", "/owners/new"), postResponse);
+        Cookie cookie = postResponse.getCookie(CookieFlashMapManager.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest redirected = new MockHttpServletRequest("GET", "/owners/1");
+        redirected.setCookies(cookie);
+        MockHttpServletResponse getResponse = new MockHttpServletResponse();
+        FlashMap input = manager.retrieveAndUpdate(redirected, getResponse);
+
+        assertThat((Map<String, Object>) input).containsOnlyKeys("message").containsEntry("message", "New Owner Created & saved");
+        assertThat(getResponse.getCookie(CookieFlashMapManager.COOKIE_NAME).getMaxAge()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should_ignoreCookie_When_ItIsMalformed")
+    void should_ignoreCookie_When_ItIsMalformed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/owners/1");
+        request.setCookies(new Cookie(CookieFlashMapManager.COOKIE_NAME, "not*base64"));
+
+        assertThat((Map<String, Object>) manager.retrieveAndUpdate(request, new MockHttpServletResponse())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should_keepExpirationAndTarget_When_FlashMapsAreEncoded")
+    void should_keepExpirationAndTarget_When_FlashMapsAreEncoded() {
+        FlashMap flashMap = new FlashMap();
+        flashMap.put("message", "Olá\nmundo");
+        flashMap.setTargetRequestPath("/owners/7");
+        flashMap.addTargetRequestParam("lang", "es");
+        flashMap.setExpirationTime(1234L);
+
+        List<FlashMap> decoded = CookieFlashMapManager.decode(CookieFlashMapManager.encode(List.of(flashMap)));
+
+        assertThat(decoded).singleElement().satisfies(map -> {
+            assertThat((Map<String, Object>) map).containsEntry("message", "Olá\nmundo");
+            assertThat(map.getTargetRequestPath()).isEqualTo("/owners/7");
+            assertThat(map.getTargetRequestParams().getFirst("lang")).isEqualTo("es");
+            assertThat(map.getExpirationTime()).isEqualTo(1234L);
+        });
+    }
+
+}
@@ -0,0 +1,29 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotFoundAdviceTest {
+
+    @Test
+    @DisplayName("Should_renderErrorViewAndCount_When_EntityNotFound")
+    void should_renderErrorViewAndCount_When_EntityNotFound() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotFoundAdvice advice = new NotFoundAdvice(registry);
+
+        ModelAndView mav = advice.handleNotFound(new EntityNotFoundException("Owner", 42));
+
+        assertThat(mav.getViewName()).isEqualTo("error");
+        assertThat(mav.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(mav.getModel()).containsEntry("status", 404)
+            .containsEntry("message", "Owner not found with id: 42");
+        assertThat(registry.get("petclinic.notfound").counter().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,102 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import ec.edu.epn.petclinic.system.ReplicaRoutingConfiguration.Replica;
+import ec.edu.epn.petclinic.system.ReplicaRoutingConfiguration.RoutingPostProcessor;
+
+@SpringBootTest(properties = "petclinic.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL)
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // read-only transactions already run while the application starts, for example to
+    // load the owner indexes, so the replica needs a copy of the primary
+    @BeforeAll
+    static void copyPrimaryToReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL);
+                Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/h2/schema.sql'");
+            statement.execute("RUNSCRIPT FROM 'classpath:db/h2/data.sql'");
+        }
+    }
+
+    @Test
+    @DisplayName("Should_useReplica_When_TransactionIsReadOnly")
+    void should_useReplica_When_TransactionIsReadOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String database = readOnly.execute(status -> databaseName());
+
+        assertThat(database).isEqualTo("REPLICA");
+    }
+
+    @Test
+    @DisplayName("Should_usePrimary_When_TransactionIsReadWrite")
+    void should_usePrimary_When_TransactionIsReadWrite() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String database = readWrite.execute(status -> databaseName());
+
+        assertThat(database).isNotEqualTo("REPLICA");
+        assertThat(databaseName()).isNotEqualTo("REPLICA");
+    }
+
+    @Test
+    @DisplayName("Should_closePrimaryAndReplicaPools_When_DataSourceIsDestroyed")
+    void should_closePrimaryAndReplicaPools_When_DataSourceIsDestroyed() {
+        Replica replica = new Replica();
+        replica.setUrl("jdbc:h2:mem:closed-replica");
+        RoutingPostProcessor processor = new RoutingPostProcessor(List.of(replica));
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:h2:mem:closed-primary");
+
+        Object routed = processor.postProcessAfterInitialization(primary, "dataSource");
+        processor.postProcessBeforeDestruction(routed, "dataSource");
+
+        ReadOnlyRoutingDataSource routing = (ReadOnlyRoutingDataSource) ((LazyConnectionDataSourceProxy) routed)
+            .getTargetDataSource();
+        assertThat(routing.getResolvedDataSources().values()).hasSize(2)
+            .allSatisfy(pool -> assertThat(((HikariDataSource) pool).isClosed()).isTrue());
+    }
+
+    private String databaseName() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT DATABASE()")) {
+            result.next();
+            return result.getString(1);
+        }
+        catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package ec.edu.epn.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StatelessSessionTest {
+
+    private static final Pattern OWNER_LOCATION = Pattern.compile(".*/owners/(\\d+)$");
+
+    private static final Pattern ADD_VISIT_LINK = Pattern.compile("pets/(\\d+)/visits/new");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SessionCounter sessions;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .cookieHandler(new CookieManager())
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+
+    @Test
+    @DisplayName("Should_createNoSession_When_OwnerPetAndVisitAreAddedInSpanish")
+    void should_createNoSession_When_OwnerPetAndVisitAreAddedInSpanish() throws Exception {
+        int sessionsBefore = sessions.created.get();
+
+        assertThat(get("/?lang=es").statusCode()).isEqualTo(200);
+
+        HttpResponse<String> ownerCreated = post("/owners/new",
+                "firstName=Stateless&lastName=Visitor&address=1 Cookie Lane&city=Quito&telephone=0987654321");
+        assertThat(ownerCreated.statusCode()).isEqualTo(302);
+        String location = ownerCreated.headers().firstValue("Location").orElseThrow();
+        assertThat(location).doesNotContain("jsessionid");
+        Matcher owner = OWNER_LOCATION.matcher(location);
+        assertThat(owner.matches()).isTrue();
+        String ownerPath = "/owners/" + owner.group(1);
+
+        HttpResponse<String> ownerPage = get(ownerPath);
+        assertThat(ownerPage.body()).contains("New Owner Created").contains("Editar propietario");
+        // the flash message is shown once
+        assertThat(get(ownerPath).body()).doesNotContain("New Owner Created");
+
+        assertThat(post(ownerPath + "/pets/new", "name=Cookie&birthDate=2019-03-20&type=lizard").statusCode())
+            .isEqualTo(302);
+        HttpResponse<String> petAdded = get(ownerPath);
+        assertThat(petAdded.body()).contains("New Pet has been Added");
+        Matcher pet = ADD_VISIT_LINK.matcher(petAdded.body());
+        assertThat(pet.find()).isTrue();
+
+        assertThat(post(ownerPath + "/pets/" + pet.group(1) + "/visits/new", "date=2024-05-01&description=checkup")
+            .statusCode()).isEqualTo(302);
+        assertThat(get(ownerPath).body()).contains("Your visit has been booked").contains("checkup");
+
+        assertThat(sessions.created.get()).isEqualTo(sessionsBefore);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        String body = String.join("&", Arrays.stream(form.split("&"))
+            .map(pair -> pair.substring(0, pair.indexOf('=') + 1)
+                    + URLEncoder.encode(pair.substring(pair.indexOf('=') + 1), StandardCharsets.UTF_8))
+            .toList());
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @TestConfiguration
+    static class SessionCounterConfiguration {
+
+        @Bean
+        SessionCounter sessionCounter() {
+            return new SessionCounter();
+        }
+
+    }
+
+    static class SessionCounter implements HttpSessionListener {
+
+        final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public void sessionCreated(HttpSessionEvent event) {
+            created.incrementAndGet();
+        }
+
+    }
+
+}
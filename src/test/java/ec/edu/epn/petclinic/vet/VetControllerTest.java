@@ -1,10 +1,13 @@
 package ec.edu.epn.petclinic.vet;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -21,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -81,4 +85,105 @@ class VetControllerTest {
             .andExpect(jsonPath("$.vetList[0].firstName", is("Carla")))
             .andExpect(jsonPath("$.vetList[0].lastName", is("Lopez")));
     }
+
+    @Test
+    @DisplayName("Should_returnNotModified_When_VetsUnchangedSinceEtag")
+    void should_returnNotModified_When_VetsUnchangedSinceEtag() throws Exception {
+        Vet vet = new Vet();
+        vet.setId(5);
+        vet.setLastName("Lopez");
+        when(vetRepository.findAll()).thenReturn(List.of(vet));
+
+        String etag = mockMvc.perform(get("/vets"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/vets").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        ReflectionTestUtils.setField(vet, "version", 1);
+        mockMvc.perform(get("/vets").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vetList[0].lastName", is("Lopez")));
+    }
+
+    @Test
+    @DisplayName("Should_tagJsonAndXmlApart_When_RequestingRestEndpoint")
+    void should_tagJsonAndXmlApart_When_RequestingRestEndpoint() throws Exception {
+        Vet vet = new Vet();
+        vet.setId(5);
+        vet.setLastName("Lopez");
+        when(vetRepository.findAll()).thenReturn(List.of(vet));
+
+        String jsonEtag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Vary", "Accept"))
+            .andReturn().getResponse().getHeader("ETag");
+        String xmlEtag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Vary", "Accept"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(xmlEtag).isNotEqualTo(jsonEtag);
+        mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML).header("If-None-Match", jsonEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML).header("If-None-Match", xmlEtag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    @DisplayName("Should_changeEtag_When_SpecialtyIsRenamed")
+    void should_changeEtag_When_SpecialtyIsRenamed() throws Exception {
+        Specialty specialty = new Specialty();
+        specialty.setId(1);
+        specialty.setName("radiology");
+        Vet vet = new Vet();
+        vet.setId(5);
+        vet.setLastName("Lopez");
+        vet.addSpecialty(specialty);
+        Specialty renamed = new Specialty();
+        renamed.setId(1);
+        renamed.setName("imaging");
+        Vet reloaded = new Vet();
+        reloaded.setId(5);
+        reloaded.setLastName("Lopez");
+        reloaded.addSpecialty(renamed);
+        when(vetRepository.findAll()).thenReturn(List.of(vet), List.of(reloaded));
+
+        String etag = mockMvc.perform(get("/vets"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/vets").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vetList[0].specialties[0].name", is("imaging")));
+    }
+
+    @Test
+    @DisplayName("Should_returnNotModified_When_VetPageUnchangedSinceEtag")
+    void should_returnNotModified_When_VetPageUnchangedSinceEtag() throws Exception {
+        Vet vet = new Vet();
+        vet.setId(1);
+        vet.setLastName("Perez");
+        when(vetRepository.findAll(any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(vet), PageRequest.of(0, 2), 1));
+
+        String etag = mockMvc.perform(get("/vets.html"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/vets.html").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // a new vet on another page changes the total shown on this one
+        when(vetRepository.findAll(any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(vet), PageRequest.of(0, 2), 3));
+        mockMvc.perform(get("/vets.html").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("totalItems", 3L));
+    }
+
 }
@@ -0,0 +1,98 @@
+package ec.edu.epn.petclinic.vet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// not @Transactional: the caches are only cleared once a write has committed
+@SpringBootTest
+class VetRepositoryTest {
+
+    private static final int CARTER = 1;
+
+    @Autowired
+    private VetRepository vets;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache("vets").invalidate();
+        cacheManager.getCache("vetPages").invalidate();
+    }
+
+    @AfterEach
+    void restoreCarter() {
+        rename(CARTER, "Carter");
+    }
+
+    @Test
+    @DisplayName("Should_cachePagesApart_When_PageSizesDiffer")
+    void should_cachePagesApart_When_PageSizesDiffer() {
+        assertThat(vets.findAll(PageRequest.of(0, 2)).getContent()).hasSize(2);
+        assertThat(vets.findAll(PageRequest.of(0, 5)).getContent()).hasSize(5);
+
+        assertThat(cacheManager.getCache("vetPages").get("0:2:UNSORTED")).isNotNull();
+        assertThat(cacheManager.getCache("vetPages").get("0:5:UNSORTED")).isNotNull();
+        assertThat(((CaffeineCache) cacheManager.getCache("vets")).getNativeCache().getIfPresent(SimpleKey.EMPTY))
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Should_serveUpdatedVet_When_PageAndListWereCachedBeforeUpdate")
+    void should_serveUpdatedVet_When_PageAndListWereCachedBeforeUpdate() {
+        vets.findAll(PageRequest.of(0, 5));
+        vets.findAll();
+
+        rename(CARTER, "Carter-Smith");
+
+        assertThat(vets.findAll(PageRequest.of(0, 5)).getContent()).filteredOn(vet -> vet.getId() == CARTER)
+            .extracting(Vet::getLastName)
+            .containsExactly("Carter-Smith");
+        assertThat(vets.findAll()).filteredOn(vet -> vet.getId() == CARTER)
+            .extracting(Vet::getLastName)
+            .containsExactly("Carter-Smith");
+    }
+
+    @Test
+    @DisplayName("Should_loadSpecialtiesWithVets_When_FindingAllVets")
+    void should_loadSpecialtiesWithVets_When_FindingAllVets() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(vets.findAll()).hasSize(6)
+            .allSatisfy(vet -> assertThat(Hibernate.isInitialized(vet.getSpecialtiesInternal())).isTrue());
+        assertThat(vets.findAll(PageRequest.of(1, 2, Sort.by("id"))).getContent()).extracting(Vet::getLastName)
+            .containsExactly("Douglas", "Ortega");
+        assertThat(vets.findById(CARTER).orElseThrow().getSpecialties()).isEmpty();
+
+        // one join for the list, page ids, count and join for the page, one for the vet
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    private void rename(int id, String lastName) {
+        Vet vet = vets.findById(id).orElseThrow();
+        vet.setLastName(lastName);
+        vets.save(vet);
+    }
+
+}
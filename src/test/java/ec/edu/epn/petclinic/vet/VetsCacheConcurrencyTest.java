@@ -0,0 +1,86 @@
+package ec.edu.epn.petclinic.vet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VetsCacheConcurrencyTest {
+
+    private static final int REQUESTS = 500;
+
+    private static final String LOAD_ALL = "SELECT vet FROM Vet vet";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should_loadVetsOnce_When_ManyRequestsMissTheCacheAtOnce")
+    void should_loadVetsOnce_When_ManyRequestsMissTheCacheAtOnce() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCache("vets").invalidate();
+        long loadsBefore = statistics.getQueryStatistics(LOAD_ALL).getExecutionCount();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/vets"))
+            .header("Accept", "application/json")
+            .build();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> response : responses) {
+                assertThat(response.get()).isEqualTo(200);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(statistics.getQueryStatistics(LOAD_ALL).getExecutionCount() - loadsBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should_refreshVetsAhead_When_CacheIsConfigured")
+    void should_refreshVetsAhead_When_CacheIsConfigured() {
+        CaffeineCache vets = (CaffeineCache) cacheManager.getCache("vets");
+
+        assertThat(vets.getNativeCache().policy().refreshAfterWrite()).isPresent();
+        assertThat(vets.getNativeCache().policy().expireAfterWrite()).isPresent();
+    }
+
+}